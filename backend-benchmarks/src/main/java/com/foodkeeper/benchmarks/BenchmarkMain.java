@@ -0,0 +1,35 @@
+package com.foodkeeper.benchmarks;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Runs JMH with JSON results by default, written to
+ * results/jmh-&lt;timestamp&gt;.json so runs can be diffed over time.
+ * Any standard JMH options (a benchmark regex, -p, -f, -rf, -rff) can be passed.
+ */
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {}
+
+    public static void main(String[] args) throws Exception {
+        List<String> options = new ArrayList<>(Arrays.asList(args));
+        if (!options.contains("-rf")) {
+            options.add("-rf");
+            options.add("json");
+        }
+        if (!options.contains("-rff")) {
+            Path results = Path.of("results");
+            Files.createDirectories(results);
+            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+            options.add("-rff");
+            options.add(results.resolve("jmh-" + timestamp + ".json").toString());
+        }
+        org.openjdk.jmh.Main.main(options.toArray(new String[0]));
+    }
+}
@@ -0,0 +1,68 @@
+package com.foodkeeper.benchmarks;
+
+import com.foodkeeper.dto.FoodItemView;
+import com.foodkeeper.service.FoodItemCsvWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CSV formatting cost of exportFoodItemsToCSV, without the database: rows come
+ * from memory and bytes go to a counting sink. Reported time is per export.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class CsvExportBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int rows;
+
+    private List<FoodItemView> items;
+
+    private CountingOutputStream sink;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        items = SampleData.views(rows);
+        sink = new CountingOutputStream();
+    }
+
+    @Benchmark
+    public long export() throws IOException {
+        sink.count = 0;
+        FoodItemCsvWriter.write(items.stream(), sink);
+        return sink.count;
+    }
+
+    static final class CountingOutputStream extends OutputStream {
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
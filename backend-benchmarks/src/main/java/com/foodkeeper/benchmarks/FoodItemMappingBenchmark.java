@@ -0,0 +1,60 @@
+package com.foodkeeper.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foodkeeper.model.FoodItem;
+import com.foodkeeper.service.FoodItemJsonMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+// Request parsing in FoodItemController.createFoodItem: body -> JsonNode -> FoodItem
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FoodItemMappingBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private byte[] body;
+
+    private JsonNode tree;
+
+    @Setup
+    public void setup() throws IOException {
+        body = ("{\"name\":\"Greek yogurt\",\"description\":\"Plain, 2% fat\",\"calorie\":150,"
+                + "\"quantity\":\"200 g\",\"consumedDate\":\"2024-05-14T08:30\"}").getBytes(StandardCharsets.UTF_8);
+        tree = objectMapper.readTree(body);
+    }
+
+    @Benchmark
+    public FoodItem mapTree() {
+        return FoodItemJsonMapper.fromJson(tree);
+    }
+
+    @Benchmark
+    public FoodItem parseAndMap() throws IOException {
+        return FoodItemJsonMapper.fromJson(objectMapper.readTree(body));
+    }
+
+    @Benchmark
+    public FoodItem applyUpdate() {
+        FoodItem existing = new FoodItem("Yogurt");
+        FoodItemJsonMapper.applyUpdate(existing, tree);
+        return existing;
+    }
+}
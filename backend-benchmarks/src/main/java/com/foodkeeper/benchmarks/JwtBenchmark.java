@@ -0,0 +1,57 @@
+package com.foodkeeper.benchmarks;
+
+import com.foodkeeper.security.JwtUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+// Token minting and the per-request validation done by AuthTokenFilter
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtUtils jwtUtils;
+
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", "benchmark-secret-benchmark-secret-benchmark-secret-0123456789");
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 86400000);
+        ReflectionTestUtils.setField(jwtUtils, "verifiedTokenCacheSize", 10000L);
+        ReflectionTestUtils.invokeMethod(jwtUtils, "init");
+        token = jwtUtils.generateTokenFromUsername("bench@example.com");
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtUtils.generateTokenFromUsername("bench@example.com");
+    }
+
+    // Repeat validation of the same token, answered from the verified-token cache
+    @Benchmark
+    public String validateCached() {
+        return jwtUtils.validateAndGetUsername(token);
+    }
+
+    // Full parse and HMAC check, as on a cache miss
+    @Benchmark
+    public String validateUncached() {
+        return jwtUtils.getUserNameFromJwtToken(token);
+    }
+}
@@ -0,0 +1,69 @@
+package com.foodkeeper.benchmarks;
+
+import com.foodkeeper.security.BoundedPasswordEncoder;
+import com.foodkeeper.security.PasswordHashingExecutor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+// BCrypt verify per login, directly and through the bounded hashing pool
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class PasswordHashingBenchmark {
+
+    @Param({"10", "12"})
+    private int strength;
+
+    private BCryptPasswordEncoder bcrypt;
+
+    private BoundedPasswordEncoder bounded;
+
+    private PasswordHashingExecutor executor;
+
+    private String hash;
+
+    @Setup
+    public void setup() {
+        bcrypt = new BCryptPasswordEncoder(strength);
+        hash = bcrypt.encode("correct horse battery staple");
+
+        executor = new PasswordHashingExecutor();
+        ReflectionTestUtils.setField(executor, "threads", 0);
+        ReflectionTestUtils.setField(executor, "queueCapacity", 64);
+        ReflectionTestUtils.setField(executor, "timeoutMillis", 60000L);
+        ReflectionTestUtils.invokeMethod(executor, "init");
+        bounded = new BoundedPasswordEncoder(bcrypt, executor);
+    }
+
+    @TearDown
+    public void tearDown() {
+        ReflectionTestUtils.invokeMethod(executor, "shutdown");
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return bcrypt.matches("correct horse battery staple", hash);
+    }
+
+    @Benchmark
+    public boolean verifyOnPool() {
+        return bounded.matches("correct horse battery staple", hash);
+    }
+}
@@ -0,0 +1,93 @@
+package com.foodkeeper.benchmarks;
+
+import com.foodkeeper.security.AuthRateLimiter;
+import com.foodkeeper.security.TokenBucket;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead the auth rate limiter adds per request. Limits are set high enough
+ * that nothing is rejected, so this measures the bucket lookup and CAS only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    private static final int CLIENTS = 10_000;
+
+    private final TokenBucket.Rule rule = new TokenBucket.Rule(Long.MAX_VALUE / 4, TimeUnit.SECONDS.toNanos(1));
+
+    private TokenBucket bucket;
+
+    private AuthRateLimiter limiter;
+
+    private MockHttpServletRequest[] requests;
+
+    private String[] emails;
+
+    @Setup
+    public void setup() {
+        bucket = new TokenBucket(System.nanoTime());
+
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("benchmark", Map.of(
+                "app.ratelimit.login.ipCapacity", Long.MAX_VALUE / 4,
+                "app.ratelimit.login.emailCapacity", Long.MAX_VALUE / 4,
+                "app.ratelimit.login.periodSeconds", 1L)));
+        limiter = new AuthRateLimiter();
+        ReflectionTestUtils.setField(limiter, "environment", environment);
+        ReflectionTestUtils.setField(limiter, "enabled", true);
+        ReflectionTestUtils.setField(limiter, "maxKeys", 100_000L);
+        ReflectionTestUtils.setField(limiter, "idleMinutes", 15L);
+        ReflectionTestUtils.invokeMethod(limiter, "init");
+
+        requests = new MockHttpServletRequest[CLIENTS];
+        emails = new String[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            requests[i] = new MockHttpServletRequest("POST", "/api/auth/login");
+            requests[i].setRemoteAddr("10.0." + (i / 256) + "." + (i % 256));
+            emails[i] = "user" + i + "@example.com";
+        }
+    }
+
+    @Benchmark
+    public long bucketUncontended() {
+        return bucket.tryConsume(rule, System.nanoTime());
+    }
+
+    // Every thread hammering one bucket: worst case for the CAS loop
+    @Benchmark
+    @Threads(4)
+    public long bucketContended() {
+        return bucket.tryConsume(rule, System.nanoTime());
+    }
+
+    // Full per-request check: two cache lookups and two bucket CASes
+    @Benchmark
+    @Threads(4)
+    public void check() {
+        int client = ThreadLocalRandom.current().nextInt(CLIENTS);
+        limiter.check("login", requests[client], emails[client]);
+    }
+}
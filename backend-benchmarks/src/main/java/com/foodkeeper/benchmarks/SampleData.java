@@ -0,0 +1,52 @@
+package com.foodkeeper.benchmarks;
+
+import com.foodkeeper.dto.FoodItemView;
+import com.foodkeeper.model.FoodItem;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Deterministic food items shaped like real ones (optional fields sometimes blank)
+final class SampleData {
+
+    private static final String[] NAMES = {
+        "Oatmeal with berries", "Chicken caesar salad", "Greek yogurt", "Spaghetti bolognese",
+        "Banana", "Salmon, rice and broccoli", "Cheeseburger", "Apple", "Veggie stir fry", "Protein shake"
+    };
+
+    private static final String[] QUANTITIES = {"1 bowl", "250 g", "1 cup", "2 slices", "1 piece", null};
+
+    private SampleData() {}
+
+    static List<FoodItemView> views(int count) {
+        Random random = new Random(42);
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 7, 0);
+        List<FoodItemView> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDateTime createdAt = base.plusMinutes(i * 37L);
+            items.add(new FoodItemView(
+                    (long) i + 1,
+                    NAMES[random.nextInt(NAMES.length)],
+                    createdAt,
+                    random.nextInt(4) == 0 ? null : createdAt.plusMinutes(random.nextInt(240)),
+                    createdAt,
+                    random.nextBoolean() ? "Homemade, with \"extra\" sauce, no salt" : null,
+                    random.nextInt(10) == 0 ? null : 50 + random.nextInt(900),
+                    QUANTITIES[random.nextInt(QUANTITIES.length)]));
+        }
+        return items;
+    }
+
+    static FoodItem item() {
+        FoodItemView view = views(1).get(0);
+        FoodItem item = new FoodItem(view.name(), view.description());
+        item.setId(view.id());
+        item.setCreatedAt(view.createdAt());
+        item.setConsumedDate(view.consumedDate());
+        item.setCalorie(view.calorie());
+        item.setQuantity(view.quantity());
+        return item;
+    }
+}
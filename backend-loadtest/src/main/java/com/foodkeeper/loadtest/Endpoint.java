@@ -0,0 +1,19 @@
+package com.foodkeeper.loadtest;
+
+import java.util.Locale;
+
+enum Endpoint {
+    LIST, CREATE, UPDATE, SEARCH, EXPORT, LOGIN;
+
+    String label() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    static Endpoint fromName(String name) {
+        try {
+            return valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown endpoint in mix: " + name);
+        }
+    }
+}
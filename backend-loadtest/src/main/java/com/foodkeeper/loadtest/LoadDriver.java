@@ -0,0 +1,197 @@
+package com.foodkeeper.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model driver: requests are started on a fixed arrival schedule (Poisson
+ * or uniform) whatever the server's response times, and each latency is
+ * measured from the request's scheduled start, so a stalled server shows up in
+ * the percentiles instead of silently lowering the offered load.
+ */
+final class LoadDriver {
+
+    static final class Stats {
+        final Recorder latency = new Recorder(3);
+        final AtomicLong errors = new AtomicLong();
+        final AtomicLong dropped = new AtomicLong();
+        Histogram histogram;
+    }
+
+    private final LoadTestOptions options;
+    private final HttpClient client;
+    private final String baseUrl;
+    private final ObjectMapper mapper;
+    private final List<SyntheticUser> users;
+    private final Map<Endpoint, Stats> stats = new EnumMap<>(Endpoint.class);
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile boolean measuring;
+
+    LoadDriver(LoadTestOptions options, HttpClient client, String baseUrl, ObjectMapper mapper, List<SyntheticUser> users) {
+        this.options = options;
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.mapper = mapper;
+        this.users = users;
+        for (Endpoint endpoint : options.mix.keySet()) {
+            stats.put(endpoint, new Stats());
+        }
+    }
+
+    // Runs warmup then measurement; returns per-endpoint stats for the measured window
+    Map<Endpoint, Stats> run() throws InterruptedException {
+        Endpoint[] table = weightedTable();
+        Random random = new Random(7);
+        double meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / options.rate;
+
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(options.warmupSeconds);
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(options.durationSeconds);
+        double next = start;
+
+        while (next < end) {
+            long intended = (long) next;
+            next += options.poisson ? -Math.log(1 - random.nextDouble()) * meanIntervalNanos : meanIntervalNanos;
+
+            if (!measuring && intended >= measureFrom) {
+                // Discard everything recorded during warmup
+                for (Stats s : stats.values()) {
+                    s.latency.reset();
+                    s.errors.set(0);
+                    s.dropped.set(0);
+                }
+                measuring = true;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            Endpoint endpoint = table[random.nextInt(table.length)];
+            if (inFlight.get() >= options.maxInFlight) {
+                stats.get(endpoint).dropped.incrementAndGet();
+                continue;
+            }
+            SyntheticUser user = users.get(random.nextInt(users.size()));
+            send(endpoint, user, intended);
+        }
+
+        // Let in-flight requests finish so their latencies count
+        long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+        for (Stats s : stats.values()) {
+            s.histogram = s.latency.getIntervalHistogram();
+        }
+        return stats;
+    }
+
+    private void send(Endpoint endpoint, SyntheticUser user, long intended) {
+        HttpRequest request;
+        try {
+            request = request(endpoint, user);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        boolean create = endpoint == Endpoint.CREATE;
+        inFlight.incrementAndGet();
+        CompletableFuture<HttpResponse<byte[]>> response = create
+                ? client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                : client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).thenApply(r -> null);
+        response.whenComplete((r, error) -> {
+            long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intended);
+            Stats s = stats.get(endpoint);
+            s.latency.recordValue(Math.max(1, micros));
+            if (error != null || (r != null && r.statusCode() >= 400)) {
+                s.errors.incrementAndGet();
+            } else if (create && r != null) {
+                rememberCreated(user, r.body());
+            }
+            inFlight.decrementAndGet();
+        });
+    }
+
+    private HttpRequest request(Endpoint endpoint, SyntheticUser user) throws IOException {
+        Random random = ThreadLocalRandom.current();
+        HttpRequest.Builder builder;
+        switch (endpoint) {
+            case LIST -> builder = get("/api/food-items?limit=50");
+            case SEARCH -> builder = get("/api/food-items/search?limit=20&name="
+                    + URLEncoder.encode(searchTerm(random), StandardCharsets.UTF_8));
+            case EXPORT -> builder = get("/api/food-items/export");
+            case CREATE -> builder = json("/api/food-items").POST(body(SyntheticUsers.item(mapper, random)));
+            case UPDATE -> builder = json("/api/food-items/" + user.randomItem()).PUT(body(SyntheticUsers.item(mapper, random)));
+            case LOGIN -> {
+                // Unauthenticated: exercises BCrypt verify through the hashing pool
+                return json("/api/auth/login")
+                        .POST(body(mapper.createObjectNode().put("email", user.email).put("password", SyntheticUsers.PASSWORD)))
+                        .build();
+            }
+            default -> throw new IllegalStateException("Unhandled endpoint " + endpoint);
+        }
+        return builder.header("Authorization", "Bearer " + user.token).build();
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET();
+    }
+
+    private HttpRequest.Builder json(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).header("Content-Type", "application/json");
+    }
+
+    private HttpRequest.BodyPublisher body(Object value) throws IOException {
+        return HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(value));
+    }
+
+    private void rememberCreated(SyntheticUser user, byte[] body) {
+        try {
+            long id = mapper.readTree(body).path("id").asLong();
+            if (id > 0) {
+                user.addItem(id);
+            }
+        } catch (IOException ignored) {
+            // A malformed body was already counted as a success; nothing to remember
+        }
+    }
+
+    private static String searchTerm(Random random) {
+        String food = SyntheticUsers.FOODS[random.nextInt(SyntheticUsers.FOODS.length)];
+        return food.split(" ")[0].toLowerCase(Locale.ROOT);
+    }
+
+    // Expands the weights into a lookup table so each pick is one random index
+    private Endpoint[] weightedTable() {
+        int total = options.mix.values().stream().mapToInt(Integer::intValue).sum();
+        Endpoint[] table = new Endpoint[total];
+        int i = 0;
+        for (Map.Entry<Endpoint, Integer> entry : options.mix.entrySet()) {
+            for (int w = 0; w < entry.getValue(); w++) {
+                table[i++] = entry.getKey();
+            }
+        }
+        return table;
+    }
+}
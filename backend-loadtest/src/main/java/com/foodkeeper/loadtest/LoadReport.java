@@ -0,0 +1,80 @@
+package com.foodkeeper.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Writes one HdrHistogram log per endpoint (latency in microseconds, readable
+ * with HistogramLogAnalyzer or HdrHistogram's plotter) plus summary.json, and
+ * prints the summary table.
+ */
+final class LoadReport {
+
+    private static final double[] PERCENTILES = {50, 95, 99, 99.9};
+
+    private LoadReport() {}
+
+    static void write(Path dir, LoadTestOptions options, Map<Endpoint, LoadDriver.Stats> stats,
+                      ObjectMapper mapper, PrintStream out) throws IOException {
+        Files.createDirectories(dir);
+        ObjectNode summary = mapper.createObjectNode();
+        summary.put("users", options.users);
+        summary.put("offeredRate", options.rate);
+        summary.put("durationSeconds", options.durationSeconds);
+        summary.put("arrivals", options.poisson ? "poisson" : "uniform");
+        summary.put("threads", options.virtualThreads() ? "virtual" : "platform");
+        summary.put("javaVersion", Runtime.version().feature());
+        ArrayNode endpoints = summary.putArray("endpoints");
+
+        out.printf("%n%-8s %9s %7s %7s %10s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "dropped", "req/s", "p50 ms", "p95 ms", "p99 ms", "p999 ms", "max ms");
+        for (Map.Entry<Endpoint, LoadDriver.Stats> entry : stats.entrySet()) {
+            String name = entry.getKey().label();
+            LoadDriver.Stats s = entry.getValue();
+            Histogram histogram = s.histogram;
+            double throughput = histogram.getTotalCount() / (double) options.durationSeconds;
+
+            ObjectNode node = endpoints.addObject();
+            node.put("endpoint", name);
+            node.put("requests", histogram.getTotalCount());
+            node.put("errors", s.errors.get());
+            node.put("dropped", s.dropped.get());
+            node.put("throughput", throughput);
+            ObjectNode latency = node.putObject("latencyMs");
+            for (double p : PERCENTILES) {
+                latency.put("p" + format(p), histogram.getValueAtPercentile(p) / 1000.0);
+            }
+            latency.put("max", histogram.getMaxValue() / 1000.0);
+
+            out.printf("%-8s %9d %7d %7d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n", name,
+                    histogram.getTotalCount(), s.errors.get(), s.dropped.get(), throughput,
+                    histogram.getValueAtPercentile(50) / 1000.0, histogram.getValueAtPercentile(95) / 1000.0,
+                    histogram.getValueAtPercentile(99) / 1000.0, histogram.getValueAtPercentile(99.9) / 1000.0,
+                    histogram.getMaxValue() / 1000.0);
+
+            try (PrintStream log = new PrintStream(Files.newOutputStream(dir.resolve(name + ".hlog")))) {
+                HistogramLogWriter writer = new HistogramLogWriter(log);
+                writer.outputComment("Latency in microseconds for " + name);
+                writer.outputLogFormatVersion();
+                writer.outputLegend();
+                writer.outputIntervalHistogram(histogram);
+            }
+        }
+        mapper.writerWithDefaultPrettyPrinter().writeValue(dir.resolve("summary.json").toFile(), summary);
+        out.println("\nResults written to " + dir.toAbsolutePath());
+    }
+
+    // 50 -> "50", 99.9 -> "999"
+    private static String format(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((int) percentile) : String.valueOf(percentile).replace(".", "");
+    }
+}
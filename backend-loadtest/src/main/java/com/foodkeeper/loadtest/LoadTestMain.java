@@ -0,0 +1,85 @@
+package com.foodkeeper.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.foodkeeper.FoodKeeperApplication;
+import com.foodkeeper.datagen.SyntheticDataGenerator;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Boots the backend in-process under the loadtest profile (embedded H2, loopback
+ * mail), optionally bulk-loads background data, seeds synthetic users, drives the configured endpoint mix over HTTP and
+ * writes per-endpoint latency histograms. With --compare-threads it instead runs
+ * the workload twice, on platform and on virtual threads (see ThreadComparison).
+ */
+public final class LoadTestMain {
+
+    private LoadTestMain() {}
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        if (options.compareThreads) {
+            int exitCode = 0;
+            try {
+                ThreadComparison.run(args, options, new ObjectMapper(), System.out);
+            } catch (Exception e) {
+                e.printStackTrace();
+                exitCode = 1;
+            }
+            System.exit(exitCode);
+        }
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(FoodKeeperApplication.class)
+                .profiles("loadtest")
+                .run(options.springArgs.toArray(new String[0]));
+        int exitCode = 0;
+        try {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String baseUrl = "http://localhost:" + port;
+            ObjectMapper mapper = new ObjectMapper();
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+
+            if (options.backgroundUsers > 0) {
+                // Untouched bulk data, so the driven users' queries run against a large table
+                System.out.printf("Generating %d background users with %d items%n",
+                        options.backgroundUsers, options.backgroundItems);
+                SyntheticDataGenerator generator = context.getBean(SyntheticDataGenerator.class);
+                SyntheticDataGenerator.Result background = generator.generate(
+                        generator.defaultPlan().withScale(options.backgroundUsers, options.backgroundItems));
+                System.out.printf("Background data loaded in %d ms (%.0f rows/min)%n",
+                        background.elapsedMs(), background.rowsPerMinute());
+            }
+
+            System.out.printf("Seeding %d users x %d items%n", options.users, options.itemsPerUser);
+            List<SyntheticUser> users = SyntheticUsers.create(context, options.users);
+            SyntheticUsers.seedItems(client, baseUrl, mapper, users, options.itemsPerUser);
+
+            System.out.printf("Driving %.0f req/s (%s arrivals) for %ds after %ds warmup, mix %s%n",
+                    options.rate, options.poisson ? "poisson" : "uniform", options.durationSeconds,
+                    options.warmupSeconds, options.mix);
+            Map<Endpoint, LoadDriver.Stats> stats = new LoadDriver(options, client, baseUrl, mapper, users).run();
+
+            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+            LoadReport.write(Path.of(options.outputDir, "loadtest-" + timestamp), options, stats, mapper, System.out);
+            System.out.println("Emails captured by loopback sender: " + context.getBean(LoopbackMailSender.class).getSentCount());
+        } catch (Exception e) {
+            e.printStackTrace();
+            exitCode = 1;
+        } finally {
+            context.close();
+        }
+        System.exit(exitCode);
+    }
+}
@@ -0,0 +1,85 @@
+package com.foodkeeper.loadtest;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command-line options. Harness options are --name=value; anything else
+ * (e.g. --spring.threads.virtual.enabled=true) is passed on to Spring Boot.
+ */
+final class LoadTestOptions {
+
+    int users = 100;
+    int itemsPerUser = 50;
+    int backgroundUsers = 0;
+    long backgroundItems = 0;
+    double rate = 200;
+    int durationSeconds = 60;
+    int warmupSeconds = 10;
+    int maxInFlight = 2000;
+    boolean poisson = true;
+    String outputDir = "results";
+    boolean compareThreads = false;
+    final Map<Endpoint, Integer> mix = new EnumMap<>(Endpoint.class);
+    final List<String> springArgs = new ArrayList<>();
+
+    static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        options.parseMix("list=30,create=20,update=15,search=20,export=5,login=10");
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            String name = eq > 0 ? arg.substring(0, eq) : arg;
+            String value = eq > 0 ? arg.substring(eq + 1) : "";
+            switch (name) {
+                case "--users" -> options.users = Integer.parseInt(value);
+                case "--items-per-user" -> options.itemsPerUser = Integer.parseInt(value);
+                case "--background-users" -> options.backgroundUsers = Integer.parseInt(value);
+                case "--background-items" -> options.backgroundItems = Long.parseLong(value);
+                case "--rate" -> options.rate = Double.parseDouble(value);
+                case "--duration" -> options.durationSeconds = Integer.parseInt(value);
+                case "--warmup" -> options.warmupSeconds = Integer.parseInt(value);
+                case "--max-in-flight" -> options.maxInFlight = Integer.parseInt(value);
+                case "--arrivals" -> options.poisson = !"uniform".equals(value);
+                case "--out" -> options.outputDir = value;
+                case "--mix" -> options.parseMix(value);
+                case "--compare-threads" -> options.compareThreads = true;
+                default -> options.springArgs.add(arg);
+            }
+        }
+        if (options.users <= 0 || options.rate <= 0 || options.durationSeconds <= 0) {
+            throw new IllegalArgumentException("users, rate and duration must be positive");
+        }
+        if (options.compareThreads && options.springArgs.stream().anyMatch(a -> a.startsWith("--spring.threads.virtual.enabled"))) {
+            throw new IllegalArgumentException("--compare-threads sets spring.threads.virtual.enabled itself");
+        }
+        if (options.backgroundItems > 0 && options.backgroundUsers <= 0) {
+            throw new IllegalArgumentException("--background-items needs --background-users");
+        }
+        return options;
+    }
+
+    // Spring Boot only honours the flag on Java 21+
+    boolean virtualThreads() {
+        return Runtime.version().feature() >= 21 && springArgs.contains("--spring.threads.virtual.enabled=true");
+    }
+
+    // "list=30,create=20,..." -> relative weights; endpoints left out get no traffic
+    private void parseMix(String spec) {
+        mix.clear();
+        for (String part : spec.split(",")) {
+            String[] pair = part.trim().split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry: " + part);
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight > 0) {
+                mix.put(Endpoint.fromName(pair[0].trim()), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("Mix must give at least one endpoint a positive weight");
+        }
+    }
+}
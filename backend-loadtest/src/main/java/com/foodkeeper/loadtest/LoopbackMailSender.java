@@ -0,0 +1,25 @@
+package com.foodkeeper.loadtest;
+
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.context.annotation.Profile;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Stands in for SMTP under the loadtest profile: messages are counted and dropped
+@Component
+@Profile("loadtest")
+public class LoopbackMailSender extends JavaMailSenderImpl {
+
+    private final AtomicLong sent = new AtomicLong();
+
+    @Override
+    protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) {
+        sent.addAndGet(mimeMessages != null ? mimeMessages.length : originalMessages.length);
+    }
+
+    public long getSentCount() {
+        return sent.get();
+    }
+}
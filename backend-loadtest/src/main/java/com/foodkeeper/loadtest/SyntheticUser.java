@@ -0,0 +1,30 @@
+package com.foodkeeper.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+// A seeded account with its JWT and the ids of items it owns (for updates)
+final class SyntheticUser {
+
+    final String email;
+    final String token;
+    private long[] itemIds = new long[64];
+    private int itemCount;
+
+    SyntheticUser(String email, String token) {
+        this.email = email;
+        this.token = token;
+    }
+
+    synchronized void addItem(long id) {
+        if (itemCount == itemIds.length) {
+            itemIds = Arrays.copyOf(itemIds, itemCount * 2);
+        }
+        itemIds[itemCount++] = id;
+    }
+
+    // 0 when the user has no items yet
+    synchronized long randomItem() {
+        return itemCount == 0 ? 0 : itemIds[ThreadLocalRandom.current().nextInt(itemCount)];
+    }
+}
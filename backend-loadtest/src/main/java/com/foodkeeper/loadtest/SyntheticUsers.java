@@ -0,0 +1,106 @@
+package com.foodkeeper.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.foodkeeper.model.AuthProvider;
+import com.foodkeeper.model.User;
+import com.foodkeeper.repository.UserRepository;
+import com.foodkeeper.security.JwtUtils;
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Creates verified accounts straight through the repository, mints their JWTs
+ * with the app's own JwtUtils, and seeds items through the batch API so the
+ * rollups, search index and sync state are built the same way as in production.
+ */
+final class SyntheticUsers {
+
+    static final String PASSWORD = "loadtest-password";
+
+    static final String[] FOODS = {
+        "Oatmeal with berries", "Chicken caesar salad", "Greek yogurt", "Spaghetti bolognese",
+        "Banana", "Salmon with rice", "Cheeseburger", "Apple", "Veggie stir fry", "Protein shake",
+        "Chicken curry", "Tuna sandwich", "Scrambled eggs", "Beef tacos", "Lentil soup"
+    };
+
+    private static final int BATCH_SIZE = 500;
+
+    private SyntheticUsers() {}
+
+    static List<SyntheticUser> create(ApplicationContext context, int count) {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        JwtUtils jwtUtils = context.getBean(JwtUtils.class);
+        // One hash shared by every account keeps setup fast; logins still verify it
+        String hash = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+
+        List<User> accounts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User user = new User("Load", "User" + i, "loadtest-" + i + "@example.com", hash);
+            user.setProvider(AuthProvider.LOCAL);
+            user.setEmailVerified(true);
+            accounts.add(user);
+        }
+        userRepository.saveAll(accounts);
+
+        List<SyntheticUser> users = new ArrayList<>(count);
+        for (User account : accounts) {
+            users.add(new SyntheticUser(account.getEmail(), jwtUtils.generateTokenFromUsername(account.getEmail())));
+        }
+        return users;
+    }
+
+    static void seedItems(HttpClient client, String baseUrl, ObjectMapper mapper, List<SyntheticUser> users,
+                          int itemsPerUser) throws IOException, InterruptedException {
+        Random random = new Random(42);
+        for (SyntheticUser user : users) {
+            for (int done = 0; done < itemsPerUser; done += BATCH_SIZE) {
+                ObjectNode batch = mapper.createObjectNode();
+                ArrayNode operations = batch.putArray("operations");
+                for (int i = done; i < Math.min(itemsPerUser, done + BATCH_SIZE); i++) {
+                    operations.addObject().put("op", "create").set("item", item(mapper, random));
+                }
+                HttpResponse<byte[]> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/food-items/batch"))
+                        .header("Authorization", "Bearer " + user.token)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(batch)))
+                        .build(), HttpResponse.BodyHandlers.ofByteArray());
+                if (response.statusCode() >= 300) {
+                    throw new IllegalStateException("Seeding failed with HTTP " + response.statusCode()
+                            + ": " + new String(response.body()));
+                }
+                for (JsonNode result : mapper.readTree(response.body()).path("results")) {
+                    if (result.hasNonNull("id")) {
+                        user.addItem(result.get("id").asLong());
+                    }
+                }
+            }
+        }
+    }
+
+    static ObjectNode item(ObjectMapper mapper, Random random) {
+        ObjectNode item = mapper.createObjectNode();
+        item.put("name", FOODS[random.nextInt(FOODS.length)]);
+        if (random.nextBoolean()) {
+            item.put("description", "Synthetic load-test item");
+        }
+        item.put("calorie", 50 + random.nextInt(900));
+        item.put("quantity", (1 + random.nextInt(3)) + " serving");
+        if (random.nextInt(3) > 0) {
+            item.put("consumedDate", LocalDateTime.now().minusHours(random.nextInt(24 * 30)).withNano(0).toString());
+        }
+        return item;
+    }
+}
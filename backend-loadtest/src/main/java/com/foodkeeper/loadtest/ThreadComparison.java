@@ -0,0 +1,156 @@
+package com.foodkeeper.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.EncodableHistogram;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogReader;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * --compare-threads: runs the same workload once on platform and once on virtual
+ * request threads, each in a fresh JVM so neither run inherits the other's JIT,
+ * heap or database state, then prints throughput and p99 side by side and writes
+ * comparison.json next to the two runs' reports.
+ */
+final class ThreadComparison {
+
+    private static final String[] MODES = {"platform", "virtual"};
+
+    private ThreadComparison() {}
+
+    static void run(String[] args, LoadTestOptions options, ObjectMapper mapper, PrintStream out)
+            throws IOException, InterruptedException {
+        if (Runtime.version().feature() < 21) {
+            throw new IllegalStateException("--compare-threads needs Java 21; on Java "
+                    + Runtime.version().feature() + " both runs would use platform threads");
+        }
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        Path dir = Path.of(options.outputDir, "threads-" + timestamp);
+
+        Path[] reports = new Path[MODES.length];
+        for (int i = 0; i < MODES.length; i++) {
+            out.printf("%n=== %s threads ===%n", MODES[i]);
+            reports[i] = runChild(args, MODES[i], dir.resolve(MODES[i]));
+        }
+        compare(dir, reports, options, mapper, out);
+    }
+
+    // Same JVM flags, classpath and harness arguments; only the threading mode and output differ
+    private static Path runChild(String[] args, String mode, Path outDir) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        command.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments());
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(LoadTestMain.class.getName());
+        for (String arg : args) {
+            if (!arg.equals("--compare-threads") && !arg.startsWith("--out=")) {
+                command.add(arg);
+            }
+        }
+        command.add("--out=" + outDir);
+        command.add("--spring.threads.virtual.enabled=" + mode.equals("virtual"));
+
+        int exitCode = new ProcessBuilder(command).inheritIO().start().waitFor();
+        if (exitCode != 0) {
+            throw new IllegalStateException("The " + mode + " run failed with exit code " + exitCode);
+        }
+        try (Stream<Path> runs = Files.list(outDir)) {
+            return runs.filter(Files::isDirectory).findFirst()
+                    .orElseThrow(() -> new IllegalStateException("The " + mode + " run wrote no report"));
+        }
+    }
+
+    private static void compare(Path dir, Path[] reports, LoadTestOptions options, ObjectMapper mapper, PrintStream out)
+            throws IOException {
+        JsonNode platform = mapper.readTree(reports[0].resolve("summary.json").toFile());
+        JsonNode virtual = mapper.readTree(reports[1].resolve("summary.json").toFile());
+
+        ObjectNode comparison = mapper.createObjectNode();
+        comparison.put("javaVersion", Runtime.version().feature());
+        comparison.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        comparison.put("offeredRate", options.rate);
+        comparison.put("durationSeconds", options.durationSeconds);
+        comparison.put("platformReport", reports[0].toAbsolutePath().toString());
+        comparison.put("virtualReport", reports[1].toAbsolutePath().toString());
+        ArrayNode endpoints = comparison.putArray("endpoints");
+
+        out.printf("%n%-8s %12s %12s %12s %12s %9s %9s%n", "endpoint",
+                "plat req/s", "virt req/s", "plat p99 ms", "virt p99 ms", "p99 chg", "errors");
+        for (int i = 0; i < platform.get("endpoints").size(); i++) {
+            JsonNode p = platform.get("endpoints").get(i);
+            JsonNode v = virtual.get("endpoints").get(i);
+            row(endpoints, out, p.get("endpoint").asText(),
+                    p.get("throughput").asDouble(), v.get("throughput").asDouble(),
+                    p.get("latencyMs").get("p99").asDouble(), v.get("latencyMs").get("p99").asDouble(),
+                    p.get("errors").asLong() + v.get("errors").asLong());
+        }
+
+        // Overall p99 needs the merged histograms, not an average of per-endpoint percentiles
+        Histogram platformAll = merged(reports[0]);
+        Histogram virtualAll = merged(reports[1]);
+        row(endpoints, out, "all",
+                platformAll.getTotalCount() / (double) options.durationSeconds,
+                virtualAll.getTotalCount() / (double) options.durationSeconds,
+                platformAll.getValueAtPercentile(99) / 1000.0, virtualAll.getValueAtPercentile(99) / 1000.0,
+                sumErrors(platform) + sumErrors(virtual));
+
+        Files.createDirectories(dir);
+        mapper.writerWithDefaultPrettyPrinter().writeValue(dir.resolve("comparison.json").toFile(), comparison);
+        out.println("\nComparison written to " + dir.toAbsolutePath());
+    }
+
+    private static void row(ArrayNode endpoints, PrintStream out, String name, double platformRate, double virtualRate,
+                            double platformP99, double virtualP99, long errors) {
+        double change = platformP99 > 0 ? (virtualP99 - platformP99) / platformP99 * 100 : 0;
+        ObjectNode node = endpoints.addObject();
+        node.put("endpoint", name);
+        node.put("platformThroughput", platformRate);
+        node.put("virtualThroughput", virtualRate);
+        node.put("platformP99Ms", platformP99);
+        node.put("virtualP99Ms", virtualP99);
+        node.put("p99ChangePercent", change);
+        node.put("errors", errors);
+        out.printf("%-8s %12.1f %12.1f %12.2f %12.2f %8.1f%% %9d%n",
+                name, platformRate, virtualRate, platformP99, virtualP99, change, errors);
+    }
+
+    private static long sumErrors(JsonNode summary) {
+        long errors = 0;
+        for (JsonNode endpoint : summary.get("endpoints")) {
+            errors += endpoint.get("errors").asLong();
+        }
+        return errors;
+    }
+
+    private static Histogram merged(Path report) throws IOException {
+        Histogram all = new Histogram(3);
+        try (Stream<Path> logs = Files.list(report)) {
+            for (Path log : logs.filter(path -> path.toString().endsWith(".hlog")).toList()) {
+                HistogramLogReader reader = new HistogramLogReader(log.toFile());
+                try {
+                    EncodableHistogram interval;
+                    while ((interval = reader.nextIntervalHistogram()) != null) {
+                        all.add((Histogram) interval);
+                    }
+                } finally {
+                    reader.close();
+                }
+            }
+        }
+        return all;
+    }
+}
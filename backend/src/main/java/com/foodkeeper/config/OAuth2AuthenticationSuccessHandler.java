@@ -4,6 +4,7 @@ import com.foodkeeper.model.AuthProvider;
 import com.foodkeeper.model.User;
 import com.foodkeeper.repository.UserRepository;
 import com.foodkeeper.security.JwtUtils;
+import com.foodkeeper.security.UserPrincipalCache;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -27,6 +28,9 @@ public class OAuth2AuthenticationSuccessHandler extends SimpleUrlAuthenticationS
     @Autowired
     private JwtUtils jwtUtils;
 
+    @Autowired
+    private UserPrincipalCache userPrincipalCache;
+
     @Override
     public void onAuthenticationSuccess(HttpServletRequest request, HttpServletResponse response,
                                         Authentication authentication) throws IOException, ServletException {
@@ -101,7 +105,9 @@ public class OAuth2AuthenticationSuccessHandler extends SimpleUrlAuthenticationS
         }
         
         if (updated) {
-            return userRepository.save(existingUser);
+            User saved = userRepository.save(existingUser);
+            userPrincipalCache.evict(saved.getEmail());
+            return saved;
         }
         
         return existingUser;
@@ -118,6 +124,8 @@ public class OAuth2AuthenticationSuccessHandler extends SimpleUrlAuthenticationS
         newUser.setEmailVerified(true); // Google emails are pre-verified
         newUser.setEnabled(true);
         
-        return userRepository.save(newUser);
+        User saved = userRepository.save(newUser);
+        userPrincipalCache.evict(saved.getEmail());
+        return saved;
     }
 } 
\ No newline at end of file
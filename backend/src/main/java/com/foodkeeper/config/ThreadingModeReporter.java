@@ -0,0 +1,29 @@
+package com.foodkeeper.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+// Spring Boot silently ignores spring.threads.virtual.enabled below Java 21
+@Component
+public class ThreadingModeReporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ThreadingModeReporter.class);
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsRequested;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void report() {
+        int javaVersion = Runtime.version().feature();
+        if (virtualThreadsRequested && javaVersion < 21) {
+            logger.warn("Virtual threads requested but running on Java {}; using platform threads", javaVersion);
+        } else {
+            logger.info("Request handling on {} threads (Java {})",
+                    virtualThreadsRequested ? "virtual" : "platform", javaVersion);
+        }
+    }
+}
@@ -2,9 +2,14 @@ package com.foodkeeper.controller;
 
 import com.foodkeeper.dto.AuthRequest;
 import com.foodkeeper.dto.AuthResponse;
+import com.foodkeeper.security.AuthRateLimiter;
+import com.foodkeeper.security.PasswordHashingBusyException;
+import com.foodkeeper.security.RateLimitExceededException;
 import com.foodkeeper.service.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -18,8 +23,13 @@ public class AuthController {
     @Autowired
     private AuthService authService;
 
+    @Autowired
+    private AuthRateLimiter rateLimiter;
+
     @PostMapping("/register")
-    public ResponseEntity<?> registerUser(@Valid @RequestBody AuthRequest.SignupRequest signUpRequest) {
+    public ResponseEntity<?> registerUser(@Valid @RequestBody AuthRequest.SignupRequest signUpRequest,
+            HttpServletRequest httpRequest) {
+        rateLimiter.check("register", httpRequest, signUpRequest.getEmail());
         try {
             AuthResponse.MessageResponse response = authService.registerUser(signUpRequest);
             
@@ -30,6 +40,8 @@ public class AuthController {
                 // Return 400 Bad Request for validation errors (like existing email)
                 return ResponseEntity.badRequest().body(response);
             }
+        } catch (PasswordHashingBusyException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                 .body(new AuthResponse.MessageResponse("Registration failed: " + e.getMessage(), false));
@@ -37,10 +49,14 @@ public class AuthController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<?> authenticateUser(@Valid @RequestBody AuthRequest.LoginRequest loginRequest) {
+    public ResponseEntity<?> authenticateUser(@Valid @RequestBody AuthRequest.LoginRequest loginRequest,
+            HttpServletRequest httpRequest) {
+        rateLimiter.check("login", httpRequest, loginRequest.getEmail());
         try {
             AuthResponse.JwtResponse response = authService.authenticateUser(loginRequest);
             return ResponseEntity.ok(response);
+        } catch (PasswordHashingBusyException e) {
+            throw e;
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                 .body(new AuthResponse.MessageResponse("Login failed: " + e.getMessage(), false));
@@ -48,7 +64,9 @@ public class AuthController {
     }
 
     @PostMapping("/verify-email")
-    public ResponseEntity<?> verifyEmail(@Valid @RequestBody AuthRequest.OtpVerificationRequest request) {
+    public ResponseEntity<?> verifyEmail(@Valid @RequestBody AuthRequest.OtpVerificationRequest request,
+            HttpServletRequest httpRequest) {
+        rateLimiter.check("verify-email", httpRequest, request.getEmail());
         try {
             AuthResponse.MessageResponse response = authService.verifyEmail(request);
             return ResponseEntity.ok(response);
@@ -59,7 +77,9 @@ public class AuthController {
     }
 
     @PostMapping("/resend-verification")
-    public ResponseEntity<?> resendVerificationOtp(@Valid @RequestBody AuthRequest.EmailRequest request) {
+    public ResponseEntity<?> resendVerificationOtp(@Valid @RequestBody AuthRequest.EmailRequest request,
+            HttpServletRequest httpRequest) {
+        rateLimiter.check("resend-verification", httpRequest, request.getEmail());
         try {
             AuthResponse.MessageResponse response = authService.resendVerificationOtp(request);
             return ResponseEntity.ok(response);
@@ -70,7 +90,9 @@ public class AuthController {
     }
 
     @PostMapping("/forgot-password")
-    public ResponseEntity<?> forgotPassword(@Valid @RequestBody AuthRequest.EmailRequest request) {
+    public ResponseEntity<?> forgotPassword(@Valid @RequestBody AuthRequest.EmailRequest request,
+            HttpServletRequest httpRequest) {
+        rateLimiter.check("forgot-password", httpRequest, request.getEmail());
         try {
             AuthResponse.MessageResponse response = authService.sendPasswordResetOtp(request);
             return ResponseEntity.ok(response);
@@ -81,16 +103,34 @@ public class AuthController {
     }
 
     @PostMapping("/reset-password")
-    public ResponseEntity<?> resetPassword(@Valid @RequestBody AuthRequest.PasswordResetRequest request) {
+    public ResponseEntity<?> resetPassword(@Valid @RequestBody AuthRequest.PasswordResetRequest request,
+            HttpServletRequest httpRequest) {
+        rateLimiter.check("reset-password", httpRequest, request.getEmail());
         try {
             AuthResponse.MessageResponse response = authService.resetPassword(request);
             return ResponseEntity.ok(response);
+        } catch (PasswordHashingBusyException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                 .body(new AuthResponse.MessageResponse("Password reset failed: " + e.getMessage(), false));
         }
     }
 
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<?> rateLimited(RateLimitExceededException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+            .body(new AuthResponse.MessageResponse(e.getMessage(), false));
+    }
+
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<?> hashingBusy(PasswordHashingBusyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(new AuthResponse.MessageResponse(e.getMessage(), false));
+    }
+
     @GetMapping("/me")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public ResponseEntity<?> getCurrentUser() {
@@ -1,45 +1,95 @@
 package com.foodkeeper.controller;
 
+import com.foodkeeper.dto.BatchRequest;
+import com.foodkeeper.dto.BatchResponse;
+import com.foodkeeper.dto.ChangesResponse;
+import com.foodkeeper.dto.FoodItemView;
+import com.foodkeeper.dto.FoodStats;
+import com.foodkeeper.dto.FoodSuggestion;
+import com.foodkeeper.dto.ImportResponse;
+import com.foodkeeper.dto.PageResponse;
 import com.foodkeeper.model.FoodItem;
+import com.foodkeeper.service.FoodItemImportService;
+import com.foodkeeper.service.FoodItemJsonMapper;
 import com.foodkeeper.service.FoodItemService;
+import com.foodkeeper.service.FoodItemSyncService;
 import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.security.access.prepost.PreAuthorize;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/food-items")
 @CrossOrigin(origins = "http://localhost:3000")
 @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
 public class FoodItemController {
+
+    private static final Logger logger = LoggerFactory.getLogger(FoodItemController.class);
     
     @Autowired
     private FoodItemService foodItemService;
     
-    // Get all food items
+    @Autowired
+    private FoodItemImportService foodItemImportService;
+    
+    @Autowired
+    private FoodItemSyncService foodItemSyncService;
+    
+    // Browsers must revalidate (If-None-Match) before reusing a cached response
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+    
+    // Conditional GET keyed on the user's data version. The ETag is checked before the
+    // body is computed, so a matching If-None-Match costs no repository query. Views
+    // that depend on the current date (last 7 days, today's calories) also key on it.
+    private <T> ResponseEntity<T> conditionalGet(WebRequest request, boolean dateDependent, Supplier<T> body) {
+        String etag = "v" + foodItemService.getDataVersion() + (dateDependent ? "-" + LocalDate.now() : "");
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).body(body.get());
+    }
+    
+    // Get a page of food items, newest first
     @GetMapping
-    public ResponseEntity<List<FoodItem>> getAllFoodItems() {
-        List<FoodItem> foodItems = foodItemService.getAllFoodItems();
-        return ResponseEntity.ok(foodItems);
+    public ResponseEntity<PageResponse<FoodItemView>> getAllFoodItems(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            WebRequest request) {
+        try {
+            return conditionalGet(request, false, () -> foodItemService.getAllFoodItems(cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
     
     // Get food item by ID
     @GetMapping("/{id}")
-    public ResponseEntity<FoodItem> getFoodItemById(@PathVariable Long id) {
-        Optional<FoodItem> foodItem = foodItemService.getFoodItemById(id);
+    public ResponseEntity<FoodItemView> getFoodItemById(@PathVariable Long id) {
+        Optional<FoodItemView> foodItem = foodItemService.getFoodItemById(id);
         return foodItem.map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -48,60 +98,12 @@ public class FoodItemController {
     @PostMapping
     public ResponseEntity<FoodItem> createFoodItem(@RequestBody JsonNode requestBody) {
         try {
-            System.out.println("Received raw JSON: " + requestBody);
-            
             // Create FoodItem from JSON
-            FoodItem foodItem = new FoodItem();
-            foodItem.setName(requestBody.get("name").asText());
-            
-            if (requestBody.has("description") && !requestBody.get("description").isNull()) {
-                String description = requestBody.get("description").asText();
-                if (!description.trim().isEmpty()) {
-                    foodItem.setDescription(description);
-                }
-            }
-            
-            if (requestBody.has("consumedDate") && !requestBody.get("consumedDate").isNull()) {
-                String dateTimeStr = requestBody.get("consumedDate").asText();
-                if (!dateTimeStr.trim().isEmpty()) {
-                    try {
-                        // Handle datetime-local format: "YYYY-MM-DDTHH:MM"
-                        LocalDateTime dateTime = LocalDateTime.parse(dateTimeStr);
-                        foodItem.setConsumedDate(dateTime);
-                    } catch (Exception e) {
-                        // Fallback: try to parse as date only and set to start of day
-                        try {
-                            LocalDate date = LocalDate.parse(dateTimeStr);
-                            foodItem.setConsumedDate(date.atStartOfDay());
-                        } catch (Exception ex) {
-                            System.err.println("Error parsing datetime: " + dateTimeStr + ", error: " + ex.getMessage());
-                            foodItem.setConsumedDate(null);
-                        }
-                    }
-                }
-            }
-            
-            if (requestBody.has("calorie") && !requestBody.get("calorie").isNull()) {
-                int calorie = requestBody.get("calorie").asInt();
-                if (calorie > 0) {
-                    foodItem.setCalorie(calorie);
-                }
-            }
-            
-            if (requestBody.has("quantity") && !requestBody.get("quantity").isNull()) {
-                String quantity = requestBody.get("quantity").asText();
-                if (!quantity.trim().isEmpty()) {
-                    foodItem.setQuantity(quantity);
-                }
-            }
-            
-            System.out.println("Parsed food item: " + foodItem);
+            FoodItem foodItem = FoodItemJsonMapper.fromJson(requestBody);
             FoodItem savedFoodItem = foodItemService.saveFoodItem(foodItem);
-            System.out.println("Saved food item: " + savedFoodItem);
             return ResponseEntity.status(HttpStatus.CREATED).body(savedFoodItem);
         } catch (Exception e) {
-            System.err.println("Error saving food item: " + e.getMessage());
-            e.printStackTrace();
+            logger.warn("Error saving food item: {}", e.getMessage(), e);
             return ResponseEntity.badRequest().build();
         }
     }
@@ -131,25 +133,79 @@ public class FoodItemController {
         }
     }
     
+    // Apply several create/update/delete/consume operations in one transaction
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResponse> applyBatch(@RequestBody BatchRequest request) {
+        try {
+            return ResponseEntity.ok(foodItemService.applyBatch(request.getOperations()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
     // Search food items by name
     @GetMapping("/search")
-    public ResponseEntity<List<FoodItem>> searchFoodItems(@RequestParam String name) {
-        List<FoodItem> foodItems = foodItemService.searchFoodItemsByName(name);
-        return ResponseEntity.ok(foodItems);
+    public ResponseEntity<PageResponse<FoodItemView>> searchFoodItems(
+            @RequestParam String name,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(foodItemService.searchFoodItemsByName(name, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    // Typeahead: previously logged names starting with the prefix, most logged first
+    @GetMapping("/suggest")
+    public ResponseEntity<List<FoodSuggestion>> suggestFoodNames(
+            @RequestParam(defaultValue = "") String prefix,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(foodItemService.suggestFoodNames(prefix, limit));
     }
     
     // Get recent food items (last 7 days)
     @GetMapping("/recent")
-    public ResponseEntity<List<FoodItem>> getRecentFoodItems() {
-        List<FoodItem> recentItems = foodItemService.getRecentFoodItems();
-        return ResponseEntity.ok(recentItems);
+    public ResponseEntity<PageResponse<FoodItemView>> getRecentFoodItems(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            WebRequest request) {
+        try {
+            return conditionalGet(request, true, () -> foodItemService.getRecentFoodItems(cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
     
     // Get recently consumed food items
     @GetMapping("/recently-consumed")
-    public ResponseEntity<List<FoodItem>> getRecentlyConsumedItems() {
-        List<FoodItem> recentlyConsumedItems = foodItemService.getRecentlyConsumedItems();
-        return ResponseEntity.ok(recentlyConsumedItems);
+    public ResponseEntity<PageResponse<FoodItemView>> getRecentlyConsumedItems(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            WebRequest request) {
+        try {
+            return conditionalGet(request, false, () -> foodItemService.getRecentlyConsumedItems(cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    // Delta sync: items created, updated or deleted since the change token
+    @GetMapping("/changes")
+    public ResponseEntity<ChangesResponse> getChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false) String device) {
+        try {
+            return ResponseEntity.ok(foodItemSyncService.getChanges(since, device));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    // Server-Sent Events feed of this user's item changes; resumes after Last-Event-ID
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return foodItemService.subscribeToChanges(lastEventId);
     }
     
     // Get total count of food items
@@ -159,9 +215,16 @@ public class FoodItemController {
         return ResponseEntity.ok(count);
     }
     
-    // Export food items to CSV
+    // Get dashboard statistics (counts and calorie totals)
+    @GetMapping("/stats")
+    public ResponseEntity<FoodStats> getStats(WebRequest request) {
+        return conditionalGet(request, true, foodItemService::getStats);
+    }
+    
+    // Export food items to CSV. The declared body type must stay StreamingResponseBody:
+    // MVC only streams ResponseEntity bodies whose generic type says so
     @GetMapping("/export")
-    public ResponseEntity<String> exportFoodItemsToCSV(
+    public ResponseEntity<StreamingResponseBody> exportFoodItemsToCSV(
             @RequestParam(required = false) String startDate,
             @RequestParam(required = false) String endDate) {
         try {
@@ -173,7 +236,7 @@ public class FoodItemController {
                 try {
                     start = LocalDate.parse(startDate).atStartOfDay();
                 } catch (Exception e) {
-                    return ResponseEntity.badRequest().body("Invalid start date format. Use YYYY-MM-DD");
+                    return textResponse(HttpStatus.BAD_REQUEST, "Invalid start date format. Use YYYY-MM-DD");
                 }
             }
             
@@ -182,11 +245,11 @@ public class FoodItemController {
                 try {
                     end = LocalDate.parse(endDate).atTime(23, 59, 59);
                 } catch (Exception e) {
-                    return ResponseEntity.badRequest().body("Invalid end date format. Use YYYY-MM-DD");
+                    return textResponse(HttpStatus.BAD_REQUEST, "Invalid end date format. Use YYYY-MM-DD");
                 }
             }
             
-            String csvContent = foodItemService.exportFoodItemsToCSV(start, end);
+            StreamingResponseBody csvBody = foodItemService.exportFoodItemsToCSV(start, end);
             
             // Generate filename based on date range
             String filename = "food_items";
@@ -205,14 +268,31 @@ public class FoodItemController {
             
             return ResponseEntity.ok()
                     .headers(headers)
-                    .body(csvContent);
+                    .body(csvBody);
                     
-        } catch (IOException e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body("Error generating CSV file: " + e.getMessage());
         } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body("Unexpected error: " + e.getMessage());
+            return textResponse(HttpStatus.INTERNAL_SERVER_ERROR, "Unexpected error: " + e.getMessage());
+        }
+    }
+    
+    private static ResponseEntity<StreamingResponseBody> textResponse(HttpStatus status, String message) {
+        byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+        return ResponseEntity.status(status)
+                .contentType(MediaType.TEXT_PLAIN)
+                .body(outputStream -> outputStream.write(bytes));
+    }
+    
+    // Import food items from a CSV file in the export layout
+    @PostMapping("/import")
+    public ResponseEntity<?> importFoodItemsFromCSV(@RequestParam("file") MultipartFile file) {
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest().body("CSV file is empty");
+        }
+        try (InputStream input = file.getInputStream()) {
+            ImportResponse result = foodItemImportService.importFoodItemsFromCSV(input);
+            return ResponseEntity.ok(result);
+        } catch (IOException | UncheckedIOException | IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Invalid CSV file: " + e.getMessage());
         }
     }
-} 
\ No newline at end of file
+}
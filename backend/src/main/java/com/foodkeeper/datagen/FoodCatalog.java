@@ -0,0 +1,72 @@
+package com.foodkeeper.datagen;
+
+import java.util.SplittableRandom;
+
+// Realistic food names with typical calories and serving sizes, weighted by how often people log them
+final class FoodCatalog {
+
+    record Food(String name, int calories, String quantity, int weight) {}
+
+    private static final Food[] FOODS = {
+        new Food("Coffee with milk", 40, "1 cup", 40),
+        new Food("Banana", 105, "1 medium", 25),
+        new Food("Apple", 95, "1 medium", 25),
+        new Food("Oatmeal with berries", 310, "1 bowl", 20),
+        new Food("Greek yogurt", 150, "200 g", 20),
+        new Food("Scrambled eggs", 200, "2 eggs", 18),
+        new Food("Whole wheat toast", 140, "2 slices", 18),
+        new Food("Chicken caesar salad", 470, "1 bowl", 15),
+        new Food("Turkey sandwich", 420, "1 sandwich", 15),
+        new Food("Protein shake", 180, "1 bottle", 12),
+        new Food("Spaghetti bolognese", 650, "1 plate", 12),
+        new Food("Grilled salmon with rice", 610, "1 plate", 10),
+        new Food("Chicken curry", 560, "1 bowl", 10),
+        new Food("Beef tacos", 510, "3 tacos", 8),
+        new Food("Veggie stir fry", 380, "1 plate", 8),
+        new Food("Cheeseburger", 740, "1 burger", 8),
+        new Food("Margherita pizza", 850, "3 slices", 7),
+        new Food("Lentil soup", 290, "1 bowl", 6),
+        new Food("Sushi rolls", 480, "8 pieces", 6),
+        new Food("Mixed nuts", 170, "30 g", 10),
+        new Food("Dark chocolate", 160, "25 g", 7),
+        new Food("Orange juice", 110, "1 glass", 8),
+        new Food("Granola bar", 190, "1 bar", 9),
+        new Food("Hummus with carrots", 210, "1 cup", 5),
+        new Food("Pad thai", 700, "1 plate", 4),
+        new Food("Burrito bowl", 720, "1 bowl", 5),
+        new Food("Avocado toast", 350, "2 slices", 6),
+        new Food("Ice cream", 270, "1 scoop", 5),
+        new Food("Caesar wrap", 520, "1 wrap", 4),
+        new Food("Fruit smoothie", 240, "1 glass", 6)
+    };
+
+    private static final String[] DESCRIPTIONS = {
+        "Homemade", "From the cafeteria", "Takeaway", "Leftovers", "Restaurant, large portion", "Meal prep"
+    };
+
+    private static final int[] CUMULATIVE_WEIGHTS = new int[FOODS.length];
+
+    static {
+        int total = 0;
+        for (int i = 0; i < FOODS.length; i++) {
+            total += FOODS[i].weight();
+            CUMULATIVE_WEIGHTS[i] = total;
+        }
+    }
+
+    private FoodCatalog() {}
+
+    static Food pick(SplittableRandom random) {
+        int target = random.nextInt(CUMULATIVE_WEIGHTS[CUMULATIVE_WEIGHTS.length - 1]);
+        for (int i = 0; i < CUMULATIVE_WEIGHTS.length; i++) {
+            if (target < CUMULATIVE_WEIGHTS[i]) {
+                return FOODS[i];
+            }
+        }
+        return FOODS[FOODS.length - 1];
+    }
+
+    static String description(SplittableRandom random) {
+        return DESCRIPTIONS[random.nextInt(DESCRIPTIONS.length)];
+    }
+}
@@ -0,0 +1,81 @@
+package com.foodkeeper.datagen;
+
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+
+/**
+ * Produces food items that look like real usage: names drawn from a weighted
+ * catalog, calories scattered around each food's typical value, creation times
+ * clustered at meal times over the last historyDays, and most items consumed
+ * shortly after they were logged. Output depends only on the random passed in.
+ */
+public final class FoodItemSynthesizer {
+
+    // Share of items logged without calories / with a description
+    private static final double MISSING_CALORIES = 0.1;
+    private static final double WITH_DESCRIPTION = 0.3;
+
+    // Minutes between logging and eating (exponential)
+    private static final double MEAN_CONSUME_DELAY_MINUTES = 45;
+
+    private final LocalDateTime now;
+    private final int historyDays;
+    private final double consumedRatio;
+
+    public FoodItemSynthesizer(LocalDateTime now, int historyDays, double consumedRatio) {
+        if (historyDays <= 0) {
+            throw new IllegalArgumentException("historyDays must be positive");
+        }
+        this.now = now;
+        this.historyDays = historyDays;
+        this.consumedRatio = consumedRatio;
+    }
+
+    public SyntheticFoodItem next(SplittableRandom random) {
+        FoodCatalog.Food food = FoodCatalog.pick(random);
+        LocalDateTime createdAt = createdAt(random);
+
+        LocalDateTime consumedDate = null;
+        if (random.nextDouble() < consumedRatio) {
+            long delay = (long) (-Math.log(1 - random.nextDouble()) * MEAN_CONSUME_DELAY_MINUTES);
+            LocalDateTime eaten = createdAt.plusMinutes(delay);
+            consumedDate = eaten.isAfter(now) ? null : eaten;
+        }
+
+        Integer calorie = null;
+        if (random.nextDouble() >= MISSING_CALORIES) {
+            // Portions vary by roughly +-20% around the typical value
+            calorie = (int) Math.max(1, Math.round(food.calories() * (1 + 0.2 * gaussian(random))));
+        }
+
+        String description = random.nextDouble() < WITH_DESCRIPTION ? FoodCatalog.description(random) : null;
+        return new SyntheticFoodItem(food.name(), createdAt, consumedDate, description, calorie, food.quantity());
+    }
+
+    // A day in the window, then an hour around breakfast, lunch, dinner or a snack
+    private LocalDateTime createdAt(SplittableRandom random) {
+        LocalDateTime day = now.toLocalDate().atStartOfDay().minusDays(random.nextInt(historyDays));
+        double meal = random.nextDouble();
+        double hour;
+        if (meal < 0.25) {
+            hour = 8 + 0.75 * gaussian(random);
+        } else if (meal < 0.55) {
+            hour = 12.5 + 0.75 * gaussian(random);
+        } else if (meal < 0.85) {
+            hour = 19 + gaussian(random);
+        } else {
+            hour = 10 + random.nextDouble() * 12;
+        }
+        long second = Math.floorMod((long) (hour * 3600), 86_400L);
+        LocalDateTime createdAt = day.plusSeconds(second);
+        // Today's items can't be in the future
+        return createdAt.isAfter(now) ? now.minusSeconds(random.nextInt(3600)) : createdAt;
+    }
+
+    // Standard normal via Box-Muller (SplittableRandom has no nextGaussian on Java 17)
+    private static double gaussian(SplittableRandom random) {
+        double u = 1 - random.nextDouble();
+        double v = random.nextDouble();
+        return Math.sqrt(-2 * Math.log(u)) * Math.cos(2 * Math.PI * v);
+    }
+}
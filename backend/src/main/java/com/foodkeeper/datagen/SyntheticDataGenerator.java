@@ -0,0 +1,368 @@
+package com.foodkeeper.datagen;
+
+import com.foodkeeper.service.NutritionRollupService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bulk-loads synthetic users and food items for scale testing. Items per user
+ * follow a Zipf distribution (a few heavy users, a long tail of light ones) and
+ * are written with plain batched JDBC on several connections, bypassing
+ * Hibernate. Ids come from a block reserved in food_items_seq up front, so the
+ * application can keep inserting while (and after) the generator runs.
+ */
+@Component
+public class SyntheticDataGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    private static final String INSERT_USER = "INSERT INTO users (first_name, last_name, email, password, provider, "
+            + "email_verified, enabled, account_non_expired, account_non_locked, credentials_non_expired, role, "
+            + "created_at, updated_at) VALUES (?, ?, ?, ?, 'LOCAL', 1, 1, 1, 1, 1, 'USER', ?, ?)";
+
+    private static final String INSERT_ITEM = "INSERT INTO food_items (id, name, created_at, consumed_date, "
+            + "description, calorie, quantity, user_id, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Must match the allocationSize of FoodItem's sequence generator
+    private static final int ID_ALLOCATION_SIZE = 50;
+
+    private static final String[] FIRST_NAMES = {
+        "Alex", "Sam", "Jordan", "Taylor", "Morgan", "Casey", "Riley", "Jamie", "Avery", "Quinn",
+        "Maria", "Wei", "Aisha", "Lukas", "Priya", "Mateo", "Yuki", "Olga", "Kwame", "Sofia"
+    };
+
+    private static final String[] LAST_NAMES = {
+        "Smith", "Garcia", "Chen", "Kumar", "Novak", "Okafor", "Silva", "Tanaka", "Muller", "Rossi",
+        "Johnson", "Nguyen", "Kowalski", "Haddad", "Larsen", "Moreau", "Ivanova", "Mensah", "Park", "Lopez"
+    };
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private NutritionRollupService rollupService;
+
+    @Value("${app.datagen.users:1000}")
+    private int users;
+
+    @Value("${app.datagen.items:1000000}")
+    private long items;
+
+    @Value("${app.datagen.zipfExponent:1.0}")
+    private double zipfExponent;
+
+    @Value("${app.datagen.historyDays:365}")
+    private int historyDays;
+
+    @Value("${app.datagen.consumedRatio:0.8}")
+    private double consumedRatio;
+
+    @Value("${app.datagen.threads:4}")
+    private int threads;
+
+    @Value("${app.datagen.batchSize:1000}")
+    private int batchSize;
+
+    @Value("${app.datagen.commitRows:20000}")
+    private int commitRows;
+
+    @Value("${app.datagen.emailPrefix:datagen}")
+    private String emailPrefix;
+
+    @Value("${app.datagen.password:password}")
+    private String password;
+
+    @Value("${app.datagen.seed:42}")
+    private long seed;
+
+    public record Plan(int users, long items, double zipfExponent, int historyDays, double consumedRatio,
+                       int threads, int batchSize, int commitRows, String emailPrefix, String password, long seed) {
+
+        public Plan withScale(int users, long items) {
+            return new Plan(users, items, zipfExponent, historyDays, consumedRatio,
+                    threads, batchSize, commitRows, emailPrefix, password, seed);
+        }
+    }
+
+    public record Result(int users, long items, long elapsedMs) {
+
+        public double rowsPerMinute() {
+            return elapsedMs > 0 ? (users + items) * 60_000.0 / elapsedMs : 0;
+        }
+    }
+
+    // The plan described by app.datagen.*
+    public Plan defaultPlan() {
+        return new Plan(users, items, zipfExponent, historyDays, consumedRatio,
+                threads, batchSize, commitRows, emailPrefix, password, seed);
+    }
+
+    // Generated users share the email prefix, so a previous run can be detected
+    public long countUsers(String prefix) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement select = connection.prepareStatement("SELECT COUNT(*) FROM users WHERE email LIKE ?")) {
+            select.setString(1, prefix + "-%");
+            try (ResultSet rs = select.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not count generated users", e);
+        }
+    }
+
+    public Result generate(Plan plan) {
+        if (plan.users() <= 0 || plan.items() < 0 || plan.threads() <= 0 || plan.batchSize() <= 0 || plan.commitRows() <= 0) {
+            throw new IllegalArgumentException("users, threads, batchSize and commitRows must be positive, items non-negative");
+        }
+        long start = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        // Unique per run, so generating twice adds users instead of colliding on email
+        String runPrefix = plan.emailPrefix() + "-" + Long.toString(System.currentTimeMillis(), 36);
+
+        try {
+            long[] userIds = insertUsers(plan, runPrefix, now);
+            long[] counts = zipfCounts(plan, userIds.length);
+            long firstId = reserveIds(plan.items());
+            insertItems(plan, userIds, counts, firstId, now);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Synthetic data generation failed", e);
+        }
+        long loadedMs = (System.nanoTime() - start) / 1_000_000;
+
+        // Rollups are rebuilt per user afterwards; this also bumps each user's data version
+        long rollupStart = System.nanoTime();
+        for (long userId : userIdsOf(runPrefix)) {
+            rollupService.rebuildForUser(userId);
+        }
+        Result result = new Result(plan.users(), plan.items(), loadedMs);
+        logger.info("Generated {} users and {} food items in {} ms ({} rows/min), rollups rebuilt in {} ms",
+                result.users(), result.items(), result.elapsedMs(), Math.round(result.rowsPerMinute()),
+                (System.nanoTime() - rollupStart) / 1_000_000);
+        return result;
+    }
+
+    private long[] insertUsers(Plan plan, String runPrefix, LocalDateTime now) throws SQLException {
+        // One hash for everyone: BCrypt per user would dominate the load time
+        String hash = passwordEncoder.encode(plan.password());
+        Random random = new Random(plan.seed());
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement insert = connection.prepareStatement(INSERT_USER)) {
+                for (int i = 0; i < plan.users(); i++) {
+                    Timestamp createdAt = Timestamp.valueOf(now.minusDays(plan.historyDays()).plusMinutes(i));
+                    insert.setString(1, FIRST_NAMES[random.nextInt(FIRST_NAMES.length)]);
+                    insert.setString(2, LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+                    insert.setString(3, runPrefix + "-" + i + "@example.com");
+                    insert.setString(4, hash);
+                    insert.setTimestamp(5, createdAt);
+                    insert.setTimestamp(6, createdAt);
+                    insert.addBatch();
+                    if ((i + 1) % plan.batchSize() == 0) {
+                        insert.executeBatch();
+                    }
+                }
+                insert.executeBatch();
+            }
+            connection.commit();
+        }
+        return userIdsOf(runPrefix);
+    }
+
+    private long[] userIdsOf(String runPrefix) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement select = connection.prepareStatement("SELECT id FROM users WHERE email LIKE ? ORDER BY id")) {
+            select.setString(1, runPrefix + "-%");
+            List<Long> ids = new ArrayList<>();
+            try (ResultSet rs = select.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getLong(1));
+                }
+            }
+            return ids.stream().mapToLong(Long::longValue).toArray();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not read generated user ids", e);
+        }
+    }
+
+    // Item counts with weight 1/rank^s, ranks shuffled so heavy users are spread
+    // over the id range; rounding leftovers go to the heaviest users
+    static long[] zipfCounts(Plan plan, int userCount) {
+        double[] weights = new double[userCount];
+        double total = 0;
+        for (int rank = 0; rank < userCount; rank++) {
+            weights[rank] = 1 / Math.pow(rank + 1, plan.zipfExponent());
+            total += weights[rank];
+        }
+        long[] byRank = new long[userCount];
+        long assigned = 0;
+        for (int rank = 0; rank < userCount; rank++) {
+            byRank[rank] = (long) (plan.items() * weights[rank] / total);
+            assigned += byRank[rank];
+        }
+        for (int rank = 0; assigned < plan.items(); rank = (rank + 1) % userCount) {
+            byRank[rank]++;
+            assigned++;
+        }
+
+        int[] order = new int[userCount];
+        for (int i = 0; i < userCount; i++) {
+            order[i] = i;
+        }
+        Random random = new Random(plan.seed());
+        for (int i = userCount - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+        }
+        long[] counts = new long[userCount];
+        for (int i = 0; i < userCount; i++) {
+            counts[i] = byRank[order[i]];
+        }
+        return counts;
+    }
+
+    // Claims ids [next_val + 1, next_val + count] and moves next_val a full block past
+    // them, so Hibernate's next pooled block ([next_val - 49, next_val]) starts after ours
+    private long reserveIds(long count) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            long nextVal;
+            try (PreparedStatement select = connection.prepareStatement("SELECT next_val FROM food_items_seq FOR UPDATE");
+                 ResultSet rs = select.executeQuery()) {
+                if (!rs.next()) {
+                    throw new IllegalStateException("food_items_seq is empty");
+                }
+                nextVal = rs.getLong(1);
+            }
+            try (PreparedStatement update = connection.prepareStatement("UPDATE food_items_seq SET next_val = ?")) {
+                update.setLong(1, nextVal + count + ID_ALLOCATION_SIZE);
+                update.executeUpdate();
+            }
+            connection.commit();
+            return nextVal + 1;
+        }
+    }
+
+    // Users are split into contiguous slices of roughly equal item counts, one per thread
+    private void insertItems(Plan plan, long[] userIds, long[] counts, long firstId, LocalDateTime now)
+            throws SQLException {
+        int threadCount = plan.threads();
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount, runnable -> {
+            Thread thread = new Thread(runnable, "datagen");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicLong written = new AtomicLong();
+        List<Future<?>> slices = new ArrayList<>();
+        try {
+            int from = 0;
+            long nextId = firstId;
+            long cumulative = 0;
+            for (int t = 0; t < threadCount && from < userIds.length; t++) {
+                long target = plan.items() * (t + 1) / threadCount;
+                int to = from;
+                long sliceStartId = nextId;
+                while (to < userIds.length && (cumulative < target || t == threadCount - 1)) {
+                    cumulative += counts[to];
+                    nextId += counts[to];
+                    to++;
+                }
+                int sliceFrom = from;
+                int sliceTo = to;
+                slices.add(executor.submit(() -> {
+                    insertSlice(plan, userIds, counts, sliceFrom, sliceTo, sliceStartId, now, written);
+                    return null;
+                }));
+                from = to;
+            }
+            for (Future<?> slice : slices) {
+                slice.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while generating food items", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            throw new IllegalStateException("Food item generation failed", cause);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void insertSlice(Plan plan, long[] userIds, long[] counts, int from, int to, long firstId,
+                             LocalDateTime now, AtomicLong written) throws SQLException {
+        FoodItemSynthesizer synthesizer = new FoodItemSynthesizer(now, plan.historyDays(), plan.consumedRatio());
+        long id = firstId;
+        long pending = 0;
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement insert = connection.prepareStatement(INSERT_ITEM)) {
+                for (int u = from; u < to; u++) {
+                    // Seeded per user, so the data doesn't depend on the thread count
+                    SplittableRandom random = new SplittableRandom(plan.seed() * 31 + u);
+                    for (long n = 0; n < counts[u]; n++) {
+                        SyntheticFoodItem item = synthesizer.next(random);
+                        insert.setLong(1, id++);
+                        insert.setString(2, item.name());
+                        insert.setTimestamp(3, Timestamp.valueOf(item.createdAt()));
+                        insert.setTimestamp(4, item.consumedDate() != null ? Timestamp.valueOf(item.consumedDate()) : null);
+                        insert.setString(5, item.description());
+                        if (item.calorie() != null) {
+                            insert.setInt(6, item.calorie());
+                        } else {
+                            insert.setNull(6, Types.INTEGER);
+                        }
+                        insert.setString(7, item.quantity());
+                        insert.setLong(8, userIds[u]);
+                        insert.setTimestamp(9, Timestamp.valueOf(item.updatedAt()));
+                        insert.addBatch();
+                        pending++;
+                        if (pending % plan.batchSize() == 0) {
+                            insert.executeBatch();
+                        }
+                        if (pending % plan.commitRows() == 0) {
+                            connection.commit();
+                            long total = written.addAndGet(plan.commitRows());
+                            if (total % 1_000_000 < plan.commitRows()) {
+                                logger.info("Generated {} food items", total);
+                            }
+                        }
+                    }
+                }
+                insert.executeBatch();
+            }
+            connection.commit();
+            written.addAndGet(pending % plan.commitRows());
+        }
+    }
+}
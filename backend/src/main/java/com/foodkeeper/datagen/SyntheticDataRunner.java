@@ -0,0 +1,32 @@
+package com.foodkeeper.datagen;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+// Fills an empty dev database on startup (app.datagen.enabled, see application-dev.properties)
+@Component
+@ConditionalOnProperty(name = "app.datagen.enabled", havingValue = "true")
+public class SyntheticDataRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticDataRunner.class);
+
+    @Autowired
+    private SyntheticDataGenerator generator;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void generateIfMissing() {
+        SyntheticDataGenerator.Plan plan = generator.defaultPlan();
+        long existing = generator.countUsers(plan.emailPrefix());
+        if (existing > 0) {
+            logger.info("Skipping synthetic data: {} generated users already present", existing);
+            return;
+        }
+        logger.info("Generating {} synthetic users with {} food items", plan.users(), plan.items());
+        generator.generate(plan);
+    }
+}
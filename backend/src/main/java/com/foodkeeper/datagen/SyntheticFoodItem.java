@@ -0,0 +1,17 @@
+package com.foodkeeper.datagen;
+
+import java.time.LocalDateTime;
+
+// One generated food_items row (without id and owner)
+public record SyntheticFoodItem(
+        String name,
+        LocalDateTime createdAt,
+        LocalDateTime consumedDate,
+        String description,
+        Integer calorie,
+        String quantity) {
+
+    public LocalDateTime updatedAt() {
+        return consumedDate != null && consumedDate.isAfter(createdAt) ? consumedDate : createdAt;
+    }
+}
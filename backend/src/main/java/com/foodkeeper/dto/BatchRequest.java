@@ -0,0 +1,36 @@
+package com.foodkeeper.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BatchRequest {
+
+    private List<Operation> operations = new ArrayList<>();
+
+    // A single mutation: "create" (item), "update" (id + item), "delete" (id) or "consume" (id, optional consumedDate)
+    public static class Operation {
+        private String op;
+        private Long id;
+        private JsonNode item;
+        private String consumedDate;
+
+        // Getters and Setters
+        public String getOp() { return op; }
+        public void setOp(String op) { this.op = op; }
+
+        public Long getId() { return id; }
+        public void setId(Long id) { this.id = id; }
+
+        public JsonNode getItem() { return item; }
+        public void setItem(JsonNode item) { this.item = item; }
+
+        public String getConsumedDate() { return consumedDate; }
+        public void setConsumedDate(String consumedDate) { this.consumedDate = consumedDate; }
+    }
+
+    // Getters and Setters
+    public List<Operation> getOperations() { return operations; }
+    public void setOperations(List<Operation> operations) { this.operations = operations; }
+}
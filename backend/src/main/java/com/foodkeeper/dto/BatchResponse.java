@@ -0,0 +1,54 @@
+package com.foodkeeper.dto;
+
+import com.foodkeeper.model.FoodItem;
+
+import java.util.List;
+
+public class BatchResponse {
+
+    private List<OperationResult> results;
+
+    // Outcome of one operation, reported at the operation's index in the request
+    public static class OperationResult {
+        private int index;
+        private String op;
+        private Long id;
+        private String status;
+        private String message;
+        private FoodItem item;
+
+        public OperationResult(int index, String op, Long id, String status) {
+            this.index = index;
+            this.op = op;
+            this.id = id;
+            this.status = status;
+        }
+
+        // Getters and Setters
+        public int getIndex() { return index; }
+        public void setIndex(int index) { this.index = index; }
+
+        public String getOp() { return op; }
+        public void setOp(String op) { this.op = op; }
+
+        public Long getId() { return id; }
+        public void setId(Long id) { this.id = id; }
+
+        public String getStatus() { return status; }
+        public void setStatus(String status) { this.status = status; }
+
+        public String getMessage() { return message; }
+        public void setMessage(String message) { this.message = message; }
+
+        public FoodItem getItem() { return item; }
+        public void setItem(FoodItem item) { this.item = item; }
+    }
+
+    public BatchResponse(List<OperationResult> results) {
+        this.results = results;
+    }
+
+    // Getters and Setters
+    public List<OperationResult> getResults() { return results; }
+    public void setResults(List<OperationResult> results) { this.results = results; }
+}
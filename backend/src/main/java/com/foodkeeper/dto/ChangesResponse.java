@@ -0,0 +1,37 @@
+package com.foodkeeper.dto;
+
+import java.util.List;
+
+public class ChangesResponse {
+
+    private String token;
+    private boolean resetRequired;
+    private List<FoodItemView> items;
+    private List<Long> deletedIds;
+
+    public ChangesResponse(String token, List<FoodItemView> items, List<Long> deletedIds) {
+        this.token = token;
+        this.items = items;
+        this.deletedIds = deletedIds;
+    }
+
+    // The client's token can no longer be served incrementally: reload the full list, then sync without a token
+    public static ChangesResponse reset() {
+        ChangesResponse response = new ChangesResponse(null, List.of(), List.of());
+        response.setResetRequired(true);
+        return response;
+    }
+
+    // Getters and Setters
+    public String getToken() { return token; }
+    public void setToken(String token) { this.token = token; }
+
+    public boolean isResetRequired() { return resetRequired; }
+    public void setResetRequired(boolean resetRequired) { this.resetRequired = resetRequired; }
+
+    public List<FoodItemView> getItems() { return items; }
+    public void setItems(List<FoodItemView> items) { this.items = items; }
+
+    public List<Long> getDeletedIds() { return deletedIds; }
+    public void setDeletedIds(List<Long> deletedIds) { this.deletedIds = deletedIds; }
+}
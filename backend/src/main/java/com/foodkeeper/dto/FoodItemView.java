@@ -0,0 +1,23 @@
+package com.foodkeeper.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.foodkeeper.model.FoodItem;
+
+import java.time.LocalDateTime;
+
+// Read-only food item as returned by the GET endpoints; serializes exactly like FoodItem
+public record FoodItemView(
+        Long id,
+        String name,
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss") LocalDateTime createdAt,
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss") LocalDateTime consumedDate,
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss") LocalDateTime updatedAt,
+        String description,
+        Integer calorie,
+        String quantity) {
+
+    public static FoodItemView of(FoodItem item) {
+        return new FoodItemView(item.getId(), item.getName(), item.getCreatedAt(), item.getConsumedDate(), item.getUpdatedAt(),
+                item.getDescription(), item.getCalorie(), item.getQuantity());
+    }
+}
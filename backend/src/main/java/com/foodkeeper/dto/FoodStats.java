@@ -0,0 +1,34 @@
+package com.foodkeeper.dto;
+
+public class FoodStats {
+
+    private long totalItems;
+    private long consumedItems;
+    private long totalCalories;
+    private long caloriesToday;
+    private long caloriesLast7Days;
+
+    public FoodStats(Long totalItems, Long consumedItems, Long totalCalories, Long caloriesToday, Long caloriesLast7Days) {
+        this.totalItems = totalItems;
+        this.consumedItems = consumedItems;
+        this.totalCalories = totalCalories;
+        this.caloriesToday = caloriesToday;
+        this.caloriesLast7Days = caloriesLast7Days;
+    }
+
+    // Getters and Setters
+    public long getTotalItems() { return totalItems; }
+    public void setTotalItems(long totalItems) { this.totalItems = totalItems; }
+
+    public long getConsumedItems() { return consumedItems; }
+    public void setConsumedItems(long consumedItems) { this.consumedItems = consumedItems; }
+
+    public long getTotalCalories() { return totalCalories; }
+    public void setTotalCalories(long totalCalories) { this.totalCalories = totalCalories; }
+
+    public long getCaloriesToday() { return caloriesToday; }
+    public void setCaloriesToday(long caloriesToday) { this.caloriesToday = caloriesToday; }
+
+    public long getCaloriesLast7Days() { return caloriesLast7Days; }
+    public void setCaloriesLast7Days(long caloriesLast7Days) { this.caloriesLast7Days = caloriesLast7Days; }
+}
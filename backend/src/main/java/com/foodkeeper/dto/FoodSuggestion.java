@@ -0,0 +1,40 @@
+package com.foodkeeper.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDateTime;
+
+public class FoodSuggestion {
+
+    private String name;
+    private int count;
+    private Integer lastCalorie;
+    private String lastQuantity;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime lastUsedAt;
+
+    public FoodSuggestion(String name, int count, Integer lastCalorie, String lastQuantity, LocalDateTime lastUsedAt) {
+        this.name = name;
+        this.count = count;
+        this.lastCalorie = lastCalorie;
+        this.lastQuantity = lastQuantity;
+        this.lastUsedAt = lastUsedAt;
+    }
+
+    // Getters and Setters
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public int getCount() { return count; }
+    public void setCount(int count) { this.count = count; }
+
+    public Integer getLastCalorie() { return lastCalorie; }
+    public void setLastCalorie(Integer lastCalorie) { this.lastCalorie = lastCalorie; }
+
+    public String getLastQuantity() { return lastQuantity; }
+    public void setLastQuantity(String lastQuantity) { this.lastQuantity = lastQuantity; }
+
+    public LocalDateTime getLastUsedAt() { return lastUsedAt; }
+    public void setLastUsedAt(LocalDateTime lastUsedAt) { this.lastUsedAt = lastUsedAt; }
+}
@@ -0,0 +1,61 @@
+package com.foodkeeper.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Keyset position of the last row on a page: the sort timestamp and the row id
+ * used as a tie-breaker, plus a relevance rank for ranked search results.
+ * Clients only ever see the opaque encoded form.
+ */
+public class PageCursor {
+
+    private static final char SEPARATOR = '|';
+
+    private final LocalDateTime timestamp;
+    private final Long id;
+    private final int rank;
+
+    public PageCursor(LocalDateTime timestamp, Long id) {
+        this(timestamp, id, 0);
+    }
+
+    public PageCursor(LocalDateTime timestamp, Long id, int rank) {
+        this.timestamp = timestamp;
+        this.id = id;
+        this.rank = rank;
+    }
+
+    public static PageCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            String[] rest = raw.substring(separator + 1).split("\\" + SEPARATOR);
+            return new PageCursor(
+                LocalDateTime.parse(raw.substring(0, separator)),
+                Long.parseLong(rest[0]),
+                rest.length > 1 ? Integer.parseInt(rest[1]) : 0
+            );
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    public String encode() {
+        String raw = timestamp.toString() + SEPARATOR + id;
+        if (rank != 0) {
+            raw += SEPARATOR + String.valueOf(rank);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDateTime getTimestamp() { return timestamp; }
+
+    public Long getId() { return id; }
+
+    public int getRank() { return rank; }
+}
@@ -0,0 +1,15 @@
+package com.foodkeeper.events;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.foodkeeper.dto.FoodItemView;
+
+import java.time.LocalDateTime;
+
+// Data of one change-feed event: the full item for created/updated, the consumption time for consumed
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record FoodItemChange(
+        Long id,
+        FoodItemView item,
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss") LocalDateTime consumedDate) {
+}
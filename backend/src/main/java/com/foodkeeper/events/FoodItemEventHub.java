@@ -0,0 +1,376 @@
+package com.foodkeeper.events;
+
+import com.foodkeeper.dto.FoodItemView;
+import com.foodkeeper.model.FoodItem;
+import com.foodkeeper.transaction.AfterCommit;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Server-Sent Events feed of food item changes, per user. Events are published
+ * after commit into a per-user channel that keeps a short replay log for clients
+ * resuming with Last-Event-ID, and are fanned out to each connection through a
+ * bounded queue drained by a small sender pool, so idle connections hold no
+ * thread and a slow client can't stall publishers. A client that falls a full
+ * buffer behind is disconnected and resumes from its last event id.
+ */
+@Component
+public class FoodItemEventHub implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(FoodItemEventHub.class);
+
+    public static final String CREATED = "created";
+    public static final String UPDATED = "updated";
+    public static final String CONSUMED = "consumed";
+    public static final String DELETED = "deleted";
+    // Too many changes to describe (bulk import): refetch
+    public static final String RELOAD = "reload";
+    // Last-Event-ID is older than the replay log: refetch
+    public static final String RESET = "reset";
+
+    @Value("${app.stream.bufferSize:256}")
+    private int bufferSize;
+
+    @Value("${app.stream.replaySize:200}")
+    private int replaySize;
+
+    @Value("${app.stream.timeoutMs:1800000}")
+    private long timeoutMs;
+
+    @Value("${app.stream.retentionMs:300000}")
+    private long retentionMs;
+
+    @Value("${app.stream.senderThreads:4}")
+    private int senderThreads;
+
+    // Seeded from the clock so event ids keep increasing across restarts
+    private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis() * 1000);
+
+    private final ConcurrentMap<Long, Channel> channels = new ConcurrentHashMap<>();
+
+    private final AtomicInteger connectionCount = new AtomicInteger();
+
+    // Commit-to-write latency of live events
+    private final LongAdder fanOutCount = new LongAdder();
+    private final LongAdder fanOutTotalNanos = new LongAdder();
+    private final AtomicLong fanOutMaxNanos = new AtomicLong();
+
+    // Connections dropped for falling a full buffer behind
+    private final LongAdder overflowCount = new LongAdder();
+
+    private ExecutorService sender;
+
+    private record Event(long id, String type, Object data, long publishedNanos) {}
+
+    private record Outbound(Event event, boolean live) {}
+
+    private static final Outbound HEARTBEAT = new Outbound(null, false);
+
+    @PostConstruct
+    void init() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        sender = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "sse-sender-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        channels.values().forEach(Channel::closeAll);
+        sender.shutdownNow();
+    }
+
+    public SseEmitter subscribe(Long userId, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Connection connection = new Connection(userId, emitter);
+        emitter.onCompletion(connection::close);
+        // A timed-out emitter must still be completed, or the async request is left open
+        emitter.onTimeout(() -> {
+            emitter.complete();
+            connection.close();
+        });
+        emitter.onError(e -> connection.close());
+
+        Long resumeAfter = parseEventId(lastEventId);
+        connectionCount.incrementAndGet();
+        channels.compute(userId, (id, channel) -> {
+            Channel target = channel != null ? channel : new Channel(sequence.get());
+            target.attach(connection, resumeAfter);
+            return target;
+        });
+        return emitter;
+    }
+
+    public void publishSaved(Long userId, boolean created, Collection<FoodItem> items) {
+        List<FoodItem> copy = List.copyOf(items);
+        afterCommit(userId, channel -> {
+            for (FoodItem item : copy) {
+                channel.publish(created ? CREATED : UPDATED,
+                        new FoodItemChange(item.getId(), FoodItemView.of(item), null));
+            }
+        });
+    }
+
+    public void publishConsumed(Long userId, Collection<Long> ids, LocalDateTime consumedDate) {
+        List<Long> copy = List.copyOf(ids);
+        afterCommit(userId, channel -> copy.forEach(id -> channel.publish(CONSUMED, new FoodItemChange(id, null, consumedDate))));
+    }
+
+    public void publishDeleted(Long userId, Collection<Long> ids) {
+        List<Long> copy = List.copyOf(ids);
+        afterCommit(userId, channel -> copy.forEach(id -> channel.publish(DELETED, new FoodItemChange(id, null, null))));
+    }
+
+    public void publishReload(Long userId) {
+        afterCommit(userId, channel -> channel.publish(RELOAD, new FoodItemChange(null, null, null)));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("foodkeeper.sse.connections", connectionCount, AtomicInteger::get)
+                .description("Open SSE change-feed connections")
+                .register(registry);
+        Gauge.builder("foodkeeper.sse.channels", channels, ConcurrentMap::size)
+                .description("Users with a live or resumable SSE channel")
+                .register(registry);
+        FunctionTimer.builder("foodkeeper.sse.fanout", this,
+                        FoodItemEventHub::getFanOutCount, FoodItemEventHub::getFanOutTotalNanos, TimeUnit.NANOSECONDS)
+                .description("Commit-to-write latency of live SSE events")
+                .register(registry);
+        FunctionCounter.builder("foodkeeper.sse.overflows", overflowCount, LongAdder::sum)
+                .description("SSE connections closed because the client fell a full buffer behind")
+                .register(registry);
+    }
+
+    public int getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    public long getFanOutCount() {
+        return fanOutCount.sum();
+    }
+
+    public long getFanOutTotalNanos() {
+        return fanOutTotalNanos.sum();
+    }
+
+    public long getFanOutMaxNanos() {
+        return fanOutMaxNanos.get();
+    }
+
+    // Keeps proxies and browsers from closing idle streams, and drops channels
+    // nobody has been connected to for longer than the resume window
+    @Scheduled(fixedRateString = "${app.stream.heartbeatMs:15000}")
+    public void heartbeat() {
+        long now = System.currentTimeMillis();
+        for (Long userId : channels.keySet()) {
+            channels.computeIfPresent(userId, (id, channel) -> channel.isIdle(now) ? null : channel);
+        }
+        channels.values().forEach(Channel::heartbeat);
+        long count = fanOutCount.sum();
+        if (logger.isDebugEnabled() && count > 0) {
+            logger.debug("SSE: {} connections, {} events delivered, mean fan-out {} us, max {} us",
+                    connectionCount.get(), count, fanOutTotalNanos.sum() / count / 1000, fanOutMaxNanos.get() / 1000);
+        }
+    }
+
+    // Publishes once the surrounding transaction commits, and only to users with a live channel
+    private void afterCommit(Long userId, Consumer<Channel> publish) {
+        AfterCommit.run(() -> {
+            Channel channel = channels.get(userId);
+            if (channel != null) {
+                publish.accept(channel);
+            }
+        });
+    }
+
+    private static Long parseEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private void recordFanOut(long nanos) {
+        fanOutCount.increment();
+        fanOutTotalNanos.add(nanos);
+        fanOutMaxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    // One user's connections plus the replay log; publish and attach are serialized
+    // so every connection sees events in id order without gaps
+    private final class Channel {
+        private final ArrayDeque<Event> recent = new ArrayDeque<>();
+        private final List<Connection> connections = new CopyOnWriteArrayList<>();
+        // Events up to this id can no longer be replayed
+        private long replayableAfter;
+        private volatile long lastActivity = System.currentTimeMillis();
+
+        Channel(long createdAtSequence) {
+            this.replayableAfter = createdAtSequence;
+        }
+
+        synchronized void attach(Connection connection, Long resumeAfter) {
+            if (resumeAfter != null) {
+                if (resumeAfter < replayableAfter) {
+                    connection.offer(new Outbound(new Event(sequence.get(), RESET, new FoodItemChange(null, null, null), 0), false));
+                } else {
+                    for (Event event : recent) {
+                        if (event.id() > resumeAfter) {
+                            connection.offer(new Outbound(event, false));
+                        }
+                    }
+                }
+            }
+            if (!connection.closed.get()) {
+                connections.add(connection);
+            }
+            lastActivity = System.currentTimeMillis();
+        }
+
+        synchronized void detach(Connection connection) {
+            connections.remove(connection);
+            lastActivity = System.currentTimeMillis();
+        }
+
+        synchronized void publish(String type, Object data) {
+            Event event = new Event(sequence.incrementAndGet(), type, data, System.nanoTime());
+            recent.addLast(event);
+            if (recent.size() > replaySize) {
+                replayableAfter = recent.removeFirst().id();
+            }
+            for (Connection connection : connections) {
+                connection.offer(new Outbound(event, true));
+            }
+            lastActivity = System.currentTimeMillis();
+        }
+
+        void heartbeat() {
+            for (Connection connection : connections) {
+                connection.offer(HEARTBEAT);
+            }
+        }
+
+        boolean isIdle(long now) {
+            return connections.isEmpty() && now - lastActivity > retentionMs;
+        }
+
+        void closeAll() {
+            for (Connection connection : new ArrayList<>(connections)) {
+                connection.emitter.complete();
+                connection.close();
+            }
+        }
+    }
+
+    private final class Connection {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Outbound> queue = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        Connection(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        void offer(Outbound message) {
+            if (closed.get()) {
+                return;
+            }
+            if (!queue.offer(message)) {
+                // Too far behind: cut it loose, the client resumes from Last-Event-ID
+                logger.debug("SSE buffer full for user {}, closing connection", userId);
+                overflowCount.increment();
+                emitter.complete();
+                close();
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                Outbound message;
+                while (!closed.get() && (message = queue.poll()) != null) {
+                    send(message);
+                }
+            } catch (IOException | IllegalStateException e) {
+                close();
+            } finally {
+                draining.set(false);
+                // Pick up anything offered after the last poll
+                if (!closed.get() && !queue.isEmpty() && draining.compareAndSet(false, true)) {
+                    sender.execute(this::drain);
+                }
+            }
+        }
+
+        private void send(Outbound message) throws IOException {
+            if (message.event() == null) {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+                return;
+            }
+            Event event = message.event();
+            emitter.send(SseEmitter.event()
+                    .id(Long.toString(event.id()))
+                    .name(event.type())
+                    .data(event.data(), MediaType.APPLICATION_JSON));
+            if (message.live()) {
+                recordFanOut(System.nanoTime() - event.publishedNanos());
+            }
+        }
+
+        void close() {
+            if (closed.compareAndSet(false, true)) {
+                connectionCount.decrementAndGet();
+                queue.clear();
+                Channel channel = channels.get(userId);
+                if (channel != null) {
+                    channel.detach(this);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.foodkeeper.model;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Per-user, per-day rollup of food items (bucketed by the day they were logged),
+ * kept in step with food_items so stats never scan a user's whole history.
+ */
+@Entity
+@Table(name = "daily_nutrition_summary")
+@IdClass(DailyNutritionSummary.Key.class)
+public class DailyNutritionSummary {
+    
+    @Id
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Id
+    @Column(name = "summary_date", nullable = false)
+    private LocalDate summaryDate;
+    
+    @Column(name = "item_count", nullable = false)
+    private long itemCount;
+    
+    @Column(name = "consumed_count", nullable = false)
+    private long consumedCount;
+    
+    @Column(name = "calorie_sum", nullable = false)
+    private long calorieSum;
+    
+    public static class Key implements Serializable {
+        private Long userId;
+        private LocalDate summaryDate;
+        
+        public Key() {}
+        
+        public Key(Long userId, LocalDate summaryDate) {
+            this.userId = userId;
+            this.summaryDate = summaryDate;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return Objects.equals(userId, key.userId) && Objects.equals(summaryDate, key.summaryDate);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, summaryDate);
+        }
+    }
+    
+    // Constructors
+    public DailyNutritionSummary() {}
+    
+    // Getters and Setters
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    
+    public LocalDate getSummaryDate() { return summaryDate; }
+    public void setSummaryDate(LocalDate summaryDate) { this.summaryDate = summaryDate; }
+    
+    public long getItemCount() { return itemCount; }
+    public void setItemCount(long itemCount) { this.itemCount = itemCount; }
+    
+    public long getConsumedCount() { return consumedCount; }
+    public void setConsumedCount(long consumedCount) { this.consumedCount = consumedCount; }
+    
+    public long getCalorieSum() { return calorieSum; }
+    public void setCalorieSum(long calorieSum) { this.calorieSum = calorieSum; }
+}
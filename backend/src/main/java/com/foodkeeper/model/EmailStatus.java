@@ -0,0 +1,7 @@
+package com.foodkeeper.model;
+
+public enum EmailStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
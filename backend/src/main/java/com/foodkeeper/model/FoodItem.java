@@ -13,8 +13,10 @@ import java.time.LocalDate;
 @Table(name = "food_items")
 public class FoodItem {
     
+    // Pooled sequence (a table on MySQL) so inserts can be JDBC-batched; IDENTITY disables batching
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "food_items_seq")
+    @SequenceGenerator(name = "food_items_seq", sequenceName = "food_items_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank(message = "Food name is required")
@@ -30,6 +32,11 @@ public class FoodItem {
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
     private LocalDateTime consumedDate;
     
+    // Last modification; drives the delta sync (/changes)
+    @Column(name = "updated_at", nullable = false)
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime updatedAt;
+    
     @Size(max = 500, message = "Description must not exceed 500 characters")
     private String description;
     
@@ -95,7 +102,13 @@ public class FoodItem {
         this.consumedDate = consumedDate;
     }
     
-
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
     
     public String getDescription() {
         return description;
@@ -129,6 +142,12 @@ public class FoodItem {
         this.user = user;
     }
     
+    @PrePersist
+    @PreUpdate
+    protected void onWrite() {
+        updatedAt = LocalDateTime.now();
+    }
+    
     @Override
     public String toString() {
         return "FoodItem{" +
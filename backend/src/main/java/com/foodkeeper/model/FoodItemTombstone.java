@@ -0,0 +1,42 @@
+package com.foodkeeper.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Marker left behind by a deleted food item so delta-sync clients learn about the
+ * deletion. Compacted once every registered device has synced past it.
+ */
+@Entity
+@Table(name = "food_item_tombstones")
+public class FoodItemTombstone {
+    
+    @Id
+    @Column(name = "item_id")
+    private Long itemId;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+    
+    // Constructors
+    public FoodItemTombstone() {}
+    
+    public FoodItemTombstone(Long itemId, Long userId, LocalDateTime deletedAt) {
+        this.itemId = itemId;
+        this.userId = userId;
+        this.deletedAt = deletedAt;
+    }
+    
+    // Getters and Setters
+    public Long getItemId() { return itemId; }
+    public void setItemId(Long itemId) { this.itemId = itemId; }
+    
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    
+    public LocalDateTime getDeletedAt() { return deletedAt; }
+    public void setDeletedAt(LocalDateTime deletedAt) { this.deletedAt = deletedAt; }
+}
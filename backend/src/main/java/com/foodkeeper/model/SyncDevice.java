@@ -0,0 +1,75 @@
+package com.foodkeeper.model;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * A client that syncs through /changes. syncFrom is the oldest point the device
+ * has asked to resume from; tombstones newer than that must be kept for it.
+ */
+@Entity
+@Table(name = "sync_devices")
+@IdClass(SyncDevice.Key.class)
+public class SyncDevice {
+    
+    @Id
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Id
+    @Column(name = "device_id", nullable = false, length = 64)
+    private String deviceId;
+    
+    @Column(name = "sync_from", nullable = false)
+    private LocalDateTime syncFrom;
+    
+    @Column(name = "last_seen_at", nullable = false)
+    private LocalDateTime lastSeenAt;
+    
+    public static class Key implements Serializable {
+        private Long userId;
+        private String deviceId;
+        
+        public Key() {}
+        
+        public Key(Long userId, String deviceId) {
+            this.userId = userId;
+            this.deviceId = deviceId;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return Objects.equals(userId, key.userId) && Objects.equals(deviceId, key.deviceId);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, deviceId);
+        }
+    }
+    
+    // Constructors
+    public SyncDevice() {}
+    
+    public SyncDevice(Long userId, String deviceId) {
+        this.userId = userId;
+        this.deviceId = deviceId;
+    }
+    
+    // Getters and Setters
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+    
+    public String getDeviceId() { return deviceId; }
+    public void setDeviceId(String deviceId) { this.deviceId = deviceId; }
+    
+    public LocalDateTime getSyncFrom() { return syncFrom; }
+    public void setSyncFrom(LocalDateTime syncFrom) { this.syncFrom = syncFrom; }
+    
+    public LocalDateTime getLastSeenAt() { return lastSeenAt; }
+    public void setLastSeenAt(LocalDateTime lastSeenAt) { this.lastSeenAt = lastSeenAt; }
+}
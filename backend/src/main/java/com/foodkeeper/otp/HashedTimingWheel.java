@@ -0,0 +1,82 @@
+package com.foodkeeper.otp;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Hashed timing wheel: timeouts are hashed into one of {@code size} buckets by
+ * their deadline tick, so scheduling and expiring are O(1) regardless of how
+ * many timeouts are pending. Deadlines further out than one revolution carry a
+ * remaining-rounds count. Any thread may schedule; only the ticking thread
+ * touches the buckets, new timeouts reach it through a lock-free queue.
+ */
+class HashedTimingWheel<T> {
+
+    private final long tickMillis;
+    private final Queue<Timeout<T>>[] buckets;
+    private final Queue<Timeout<T>> pending = new ConcurrentLinkedQueue<>();
+    private final Consumer<T> onExpire;
+    private final LongSupplier clock;
+    private final long startMillis;
+    private long tick;
+
+    private static final class Timeout<T> {
+        final T item;
+        final long deadlineTick;
+        long rounds;
+
+        Timeout(T item, long deadlineTick) {
+            this.item = item;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+
+    HashedTimingWheel(long tickMillis, int size, Consumer<T> onExpire) {
+        this(tickMillis, size, onExpire, System::currentTimeMillis);
+    }
+
+    // clock: wall-clock millis (replaceable in tests)
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    HashedTimingWheel(long tickMillis, int size, Consumer<T> onExpire, LongSupplier clock) {
+        this.tickMillis = tickMillis;
+        this.clock = clock;
+        this.startMillis = clock.getAsLong();
+        this.buckets = new Queue[size];
+        for (int i = 0; i < size; i++) {
+            buckets[i] = new ArrayDeque<>();
+        }
+        this.onExpire = onExpire;
+    }
+
+    void schedule(T item, long delayMillis) {
+        long elapsed = clock.getAsLong() - startMillis + delayMillis;
+        // Round up so an item never fires before its deadline
+        pending.add(new Timeout<>(item, (elapsed + tickMillis - 1) / tickMillis));
+    }
+
+    // Advance one tick; called from a single thread every tickMillis
+    void advance() {
+        Timeout<T> timeout;
+        while ((timeout = pending.poll()) != null) {
+            long ticksAhead = Math.max(timeout.deadlineTick, tick) - tick;
+            timeout.rounds = ticksAhead / buckets.length;
+            buckets[(int) ((tick + ticksAhead) % buckets.length)].add(timeout);
+        }
+
+        Iterator<Timeout<T>> iterator = buckets[(int) (tick % buckets.length)].iterator();
+        while (iterator.hasNext()) {
+            Timeout<T> entry = iterator.next();
+            if (entry.rounds > 0) {
+                entry.rounds--;
+            } else {
+                iterator.remove();
+                onExpire.accept(entry.item);
+            }
+        }
+        tick++;
+    }
+}
@@ -0,0 +1,102 @@
+package com.foodkeeper.otp;
+
+import com.foodkeeper.model.OtpType;
+import com.foodkeeper.transaction.AfterCommit;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Default OTP store: codes live in a concurrent map and are expired by a hashed
+ * timing wheel, so OTP traffic never touches the database. Codes are lost on
+ * restart and not shared between instances; use app.otp.store=jpa for that.
+ * As with the JPA store, a code saved inside a transaction only becomes live if
+ * it commits. Consuming a code is immediate and is not undone by a rollback.
+ */
+@Component
+@ConditionalOnProperty(name = "app.otp.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryOtpStore implements OtpStore {
+
+    @Value("${app.otp.wheel.tickMs:1000}")
+    private long tickMillis;
+
+    @Value("${app.otp.wheel.size:1024}")
+    private int wheelSize;
+
+    private final ConcurrentMap<String, Entry> codes = new ConcurrentHashMap<>();
+
+    private HashedTimingWheel<Entry> wheel;
+
+    private ScheduledExecutorService ticker;
+
+    private record Entry(String key, byte[] code, long expiresAtMillis) {}
+
+    // Wall-clock millis; tests substitute a fake one before init()
+    LongSupplier clock = System::currentTimeMillis;
+
+    @PostConstruct
+    void init() {
+        // Entries are removed only if they are still the live code for their key
+        wheel = new HashedTimingWheel<>(tickMillis, wheelSize, entry -> codes.remove(entry.key(), entry), clock);
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "otp-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(wheel::advance, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        ticker.shutdownNow();
+    }
+
+    @Override
+    public void save(String email, OtpType type, String otp, Duration ttl) {
+        String key = key(email, type);
+        byte[] code = otp.getBytes(StandardCharsets.UTF_8);
+        AfterCommit.run(() -> {
+            Entry entry = new Entry(key, code, clock.getAsLong() + ttl.toMillis());
+            codes.put(key, entry);
+            wheel.schedule(entry, ttl.toMillis());
+        });
+    }
+
+    @Override
+    public boolean verifyAndConsume(String email, OtpType type, String otp) {
+        String key = key(email, type);
+        Entry entry = matching(key, otp);
+        // remove(key, entry) makes the code single-use under concurrent attempts
+        return entry != null && codes.remove(key, entry);
+    }
+
+    @Override
+    public boolean isValid(String email, OtpType type, String otp) {
+        return matching(key(email, type), otp) != null;
+    }
+
+    private Entry matching(String key, String otp) {
+        Entry entry = codes.get(key);
+        if (entry == null || otp == null || entry.expiresAtMillis() <= clock.getAsLong()) {
+            return null;
+        }
+        // Constant-time comparison so response timing doesn't leak matching digits
+        return MessageDigest.isEqual(entry.code(), otp.getBytes(StandardCharsets.UTF_8)) ? entry : null;
+    }
+
+    private static String key(String email, OtpType type) {
+        return type.name() + ':' + email;
+    }
+}
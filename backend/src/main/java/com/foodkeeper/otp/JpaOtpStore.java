@@ -0,0 +1,62 @@
+package com.foodkeeper.otp;
+
+import com.foodkeeper.model.OtpType;
+import com.foodkeeper.model.OtpVerification;
+import com.foodkeeper.repository.OtpVerificationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+// OTPs as otp_verification rows; survives restarts and is shared between instances
+@Component
+@ConditionalOnProperty(name = "app.otp.store", havingValue = "jpa")
+public class JpaOtpStore implements OtpStore {
+
+    @Autowired
+    private OtpVerificationRepository otpRepository;
+
+    @Override
+    @Transactional
+    public void save(String email, OtpType type, String otp, Duration ttl) {
+        // Delete any existing OTPs for this email and type
+        otpRepository.deleteByEmailAndType(email, type);
+
+        OtpVerification otpVerification = new OtpVerification(email, otp, type, (int) ttl.toMinutes());
+        otpRepository.save(otpVerification);
+    }
+
+    @Override
+    @Transactional
+    public boolean verifyAndConsume(String email, OtpType type, String otp) {
+        Optional<OtpVerification> otpVerificationOpt =
+            otpRepository.findByEmailAndOtpAndTypeAndVerifiedFalse(email, otp, type);
+
+        if (otpVerificationOpt.isEmpty() || otpVerificationOpt.get().isExpired()) {
+            return false;
+        }
+
+        // Mark as verified
+        OtpVerification otpVerification = otpVerificationOpt.get();
+        otpVerification.setVerified(true);
+        otpRepository.save(otpVerification);
+        return true;
+    }
+
+    @Override
+    public boolean isValid(String email, OtpType type, String otp) {
+        return otpRepository.findByEmailAndOtpAndTypeAndVerifiedFalse(email, otp, type)
+                .filter(otpVerification -> !otpVerification.isExpired())
+                .isPresent();
+    }
+
+    @Override
+    @Transactional
+    public void purgeExpired() {
+        otpRepository.deleteExpiredOtps(LocalDateTime.now());
+    }
+}
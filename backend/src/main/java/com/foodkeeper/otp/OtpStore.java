@@ -0,0 +1,24 @@
+package com.foodkeeper.otp;
+
+import com.foodkeeper.model.OtpType;
+
+import java.time.Duration;
+
+/**
+ * Storage for one-time passwords. At most one code is live per (email, type);
+ * issuing a new one replaces it, and a code can be verified only once.
+ * Selected with app.otp.store ("memory", the default, or "jpa").
+ */
+public interface OtpStore {
+
+    void save(String email, OtpType type, String otp, Duration ttl);
+
+    // Returns true and consumes the code if it matches and hasn't expired
+    boolean verifyAndConsume(String email, OtpType type, String otp);
+
+    // Returns true if the code matches and hasn't expired, without consuming it
+    boolean isValid(String email, OtpType type, String otp);
+
+    // Periodic sweep for stores that don't expire entries themselves
+    default void purgeExpired() {}
+}
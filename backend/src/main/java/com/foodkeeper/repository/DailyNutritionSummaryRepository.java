@@ -0,0 +1,59 @@
+package com.foodkeeper.repository;
+
+import com.foodkeeper.dto.FoodStats;
+import com.foodkeeper.model.DailyNutritionSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyNutritionSummaryRepository extends JpaRepository<DailyNutritionSummary, DailyNutritionSummary.Key> {
+    
+    // Atomic upsert of a per-day delta (MySQL syntax)
+    @Modifying
+    @Query(value = "INSERT INTO daily_nutrition_summary (user_id, summary_date, item_count, consumed_count, calorie_sum) " +
+                   "VALUES (:userId, :day, :items, :consumed, :calories) " +
+                   "ON DUPLICATE KEY UPDATE item_count = item_count + :items, " +
+                   "consumed_count = consumed_count + :consumed, calorie_sum = calorie_sum + :calories",
+           nativeQuery = true)
+    void applyDelta(@Param("userId") Long userId, @Param("day") LocalDate day, @Param("items") long items,
+                    @Param("consumed") long consumed, @Param("calories") long calories);
+    
+    @Query("SELECT COALESCE(SUM(s.itemCount), 0) FROM DailyNutritionSummary s WHERE s.userId = :userId")
+    Long sumItemCountByUser(@Param("userId") Long userId);
+    
+    @Query("SELECT COALESCE(SUM(s.consumedCount), 0) FROM DailyNutritionSummary s WHERE s.userId = :userId")
+    Long sumConsumedCountByUser(@Param("userId") Long userId);
+    
+    @Query("SELECT COALESCE(SUM(s.calorieSum), 0) FROM DailyNutritionSummary s WHERE s.userId = :userId")
+    Long sumCaloriesByUser(@Param("userId") Long userId);
+    
+    // All dashboard figures in one pass over the user's rollup rows
+    @Query("SELECT new com.foodkeeper.dto.FoodStats(" +
+           "COALESCE(SUM(s.itemCount), 0L), COALESCE(SUM(s.consumedCount), 0L), COALESCE(SUM(s.calorieSum), 0L), " +
+           "COALESCE(SUM(CASE WHEN s.summaryDate = :today THEN s.calorieSum ELSE 0L END), 0L), " +
+           "COALESCE(SUM(CASE WHEN s.summaryDate >= :weekStart THEN s.calorieSum ELSE 0L END), 0L)) " +
+           "FROM DailyNutritionSummary s WHERE s.userId = :userId")
+    FoodStats getStatsByUser(@Param("userId") Long userId, @Param("today") LocalDate today, @Param("weekStart") LocalDate weekStart);
+    
+    @Query("SELECT s FROM DailyNutritionSummary s WHERE s.userId = :userId AND s.summaryDate BETWEEN :from AND :to ORDER BY s.summaryDate")
+    List<DailyNutritionSummary> findByUserAndDateRange(@Param("userId") Long userId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+    
+    // Backfill: recompute one user's rows from food_items
+    @Modifying
+    @Query("DELETE FROM DailyNutritionSummary s WHERE s.userId = :userId")
+    void deleteByUserId(@Param("userId") Long userId);
+    
+    @Modifying
+    @Query(value = "INSERT INTO daily_nutrition_summary (user_id, summary_date, item_count, consumed_count, calorie_sum) " +
+                   "SELECT user_id, CAST(created_at AS DATE), COUNT(*), " +
+                   "SUM(CASE WHEN consumed_date IS NOT NULL THEN 1 ELSE 0 END), COALESCE(SUM(calorie), 0) " +
+                   "FROM food_items WHERE user_id = :userId GROUP BY user_id, CAST(created_at AS DATE)",
+           nativeQuery = true)
+    void rebuildForUser(@Param("userId") Long userId);
+}
@@ -0,0 +1,33 @@
+package com.foodkeeper.repository;
+
+import com.foodkeeper.model.EmailOutbox;
+import com.foodkeeper.model.EmailStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+    
+    // Due rows, locked FOR UPDATE SKIP LOCKED (lock timeout -2) so concurrent dispatchers never claim the same mail
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM EmailOutbox e WHERE e.status = :status AND e.nextAttemptAt <= :now ORDER BY e.nextAttemptAt, e.id")
+    List<EmailOutbox> findDueForUpdate(@Param("status") EmailStatus status, @Param("now") LocalDateTime now, Pageable pageable);
+    
+    long countByStatus(EmailStatus status);
+
+    @Modifying
+    @Query("DELETE FROM EmailOutbox e WHERE e.status = :status AND e.createdAt < :cutoff")
+    int deleteByStatusCreatedBefore(@Param("status") EmailStatus status, @Param("cutoff") LocalDateTime cutoff);
+}
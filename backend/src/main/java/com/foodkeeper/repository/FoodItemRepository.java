@@ -1,53 +1,136 @@
 package com.foodkeeper.repository;
 
+import com.foodkeeper.dto.FoodItemView;
 import com.foodkeeper.model.FoodItem;
-import com.foodkeeper.model.User;
+import com.foodkeeper.search.NameUsage;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface FoodItemRepository extends JpaRepository<FoodItem, Long> {
     
-    // Find items by user
-    List<FoodItem> findByUserOrderByCreatedAtDesc(User user);
+    // JDBC fetch size used by the streaming export queries
+    String EXPORT_FETCH_SIZE = "500";
+    
+    // Read paths select straight into FoodItemView: no managed entities, no User proxies
+    String VIEW_SELECT = "SELECT new com.foodkeeper.dto.FoodItemView(f.id, f.name, f.createdAt, f.consumedDate, " +
+                         "f.updatedAt, f.description, f.calorie, f.quantity) FROM FoodItem f ";
     
     // Find item by id and user (for security)
-    Optional<FoodItem> findByIdAndUser(Long id, User user);
+    Optional<FoodItem> findByIdAndUserId(Long id, Long userId);
+    
+    @Query(VIEW_SELECT + "WHERE f.id = :id AND f.user.id = :userId")
+    Optional<FoodItemView> findViewByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
     
-    // Find items by name and user (case-insensitive)
-    List<FoodItem> findByUserAndNameContainingIgnoreCaseOrderByCreatedAtDesc(User user, String name);
+    @Query(VIEW_SELECT + "WHERE f.user.id = :userId ORDER BY f.createdAt DESC")
+    List<FoodItemView> findViewsByUserId(@Param("userId") Long userId);
     
     // Find items consumed within a date range for a specific user
-    @Query("SELECT f FROM FoodItem f WHERE f.user = :user AND f.consumedDate BETWEEN :startDate AND :endDate ORDER BY f.consumedDate DESC")
-    List<FoodItem> findByUserAndConsumedDateBetween(@Param("user") User user, @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
+    @Query(VIEW_SELECT + "WHERE f.user.id = :userId AND f.consumedDate BETWEEN :startDate AND :endDate ORDER BY f.consumedDate DESC")
+    List<FoodItemView> findByUserAndConsumedDateBetween(@Param("userId") Long userId, @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
     
     // Find items created in the last N days for a specific user
-    @Query("SELECT f FROM FoodItem f WHERE f.user = :user AND f.createdAt >= :fromDate ORDER BY f.createdAt DESC")
-    List<FoodItem> findRecentItemsByUser(@Param("user") User user, @Param("fromDate") LocalDateTime fromDate);
+    @Query(VIEW_SELECT + "WHERE f.user.id = :userId AND f.createdAt >= :fromDate ORDER BY f.createdAt DESC")
+    List<FoodItemView> findRecentItemsByUser(@Param("userId") Long userId, @Param("fromDate") LocalDateTime fromDate);
     
-    // Find consumed items for a specific user
-    @Query("SELECT f FROM FoodItem f WHERE f.user = :user AND f.consumedDate IS NOT NULL ORDER BY f.consumedDate DESC")
-    List<FoodItem> findConsumedItemsByUser(@Param("user") User user);
+    // Find items with calories for a specific user
+    @Query(VIEW_SELECT + "WHERE f.user.id = :userId AND f.calorie IS NOT NULL AND f.calorie > 0 ORDER BY f.createdAt DESC")
+    List<FoodItemView> findItemsWithCaloriesByUser(@Param("userId") Long userId);
     
-    // Count total items for a specific user
-    @Query("SELECT COUNT(f) FROM FoodItem f WHERE f.user = :user")
-    Long countTotalItemsByUser(@Param("user") User user);
+    // Keyset pages ordered by (createdAt, id) descending; the Pageable only carries the page size
+    @Query(VIEW_SELECT + "WHERE f.user.id = :userId ORDER BY f.createdAt DESC, f.id DESC")
+    List<FoodItemView> findPageByUser(@Param("userId") Long userId, Pageable pageable);
     
-    // Count consumed items for a specific user
-    @Query("SELECT COUNT(f) FROM FoodItem f WHERE f.user = :user AND f.consumedDate IS NOT NULL")
-    Long countConsumedItemsByUser(@Param("user") User user);
+    @Query(VIEW_SELECT + "WHERE f.user.id = :userId " +
+           "AND (f.createdAt < :createdAt OR (f.createdAt = :createdAt AND f.id < :id)) " +
+           "ORDER BY f.createdAt DESC, f.id DESC")
+    List<FoodItemView> findPageByUserAfter(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt,
+                                       @Param("id") Long id, Pageable pageable);
     
-    // Find items with calories for a specific user
-    @Query("SELECT f FROM FoodItem f WHERE f.user = :user AND f.calorie IS NOT NULL AND f.calorie > 0 ORDER BY f.createdAt DESC")
-    List<FoodItem> findItemsWithCaloriesByUser(@Param("user") User user);
+    @Query(VIEW_SELECT + "WHERE f.user.id = :userId AND f.createdAt >= :fromDate ORDER BY f.createdAt DESC, f.id DESC")
+    List<FoodItemView> findRecentPageByUser(@Param("userId") Long userId, @Param("fromDate") LocalDateTime fromDate, Pageable pageable);
+    
+    @Query(VIEW_SELECT + "WHERE f.user.id = :userId AND f.createdAt >= :fromDate " +
+           "AND (f.createdAt < :createdAt OR (f.createdAt = :createdAt AND f.id < :id)) " +
+           "ORDER BY f.createdAt DESC, f.id DESC")
+    List<FoodItemView> findRecentPageByUserAfter(@Param("userId") Long userId, @Param("fromDate") LocalDateTime fromDate,
+                                             @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                             Pageable pageable);
+    
+    @Query(VIEW_SELECT + "WHERE f.user.id = :userId AND LOWER(f.name) LIKE LOWER(CONCAT('%', :name, '%')) " +
+           "ORDER BY f.createdAt DESC, f.id DESC")
+    List<FoodItemView> findSearchPageByUser(@Param("userId") Long userId, @Param("name") String name, Pageable pageable);
+    
+    @Query(VIEW_SELECT + "WHERE f.user.id = :userId AND LOWER(f.name) LIKE LOWER(CONCAT('%', :name, '%')) " +
+           "AND (f.createdAt < :createdAt OR (f.createdAt = :createdAt AND f.id < :id)) " +
+           "ORDER BY f.createdAt DESC, f.id DESC")
+    List<FoodItemView> findSearchPageByUserAfter(@Param("userId") Long userId, @Param("name") String name,
+                                             @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id,
+                                             Pageable pageable);
+    
+    // Consumed items keep their (consumedDate, id) ordering
+    @Query(VIEW_SELECT + "WHERE f.user.id = :userId AND f.consumedDate IS NOT NULL " +
+           "ORDER BY f.consumedDate DESC, f.id DESC")
+    List<FoodItemView> findConsumedPageByUser(@Param("userId") Long userId, Pageable pageable);
+    
+    @Query(VIEW_SELECT + "WHERE f.user.id = :userId AND f.consumedDate IS NOT NULL " +
+           "AND (f.consumedDate < :consumedDate OR (f.consumedDate = :consumedDate AND f.id < :id)) " +
+           "ORDER BY f.consumedDate DESC, f.id DESC")
+    List<FoodItemView> findConsumedPageByUserAfter(@Param("userId") Long userId, @Param("consumedDate") LocalDateTime consumedDate,
+                                               @Param("id") Long id, Pageable pageable);
+    
+    // Delta sync: everything modified after the given instant, oldest change first
+    @Query(VIEW_SELECT + "WHERE f.user.id = :userId AND f.updatedAt > :since ORDER BY f.updatedAt, f.id")
+    List<FoodItemView> findChangesSince(@Param("userId") Long userId, @Param("since") LocalDateTime since, Pageable pageable);
+    
+    // Streaming reads for CSV export; must be consumed inside a transaction.
+    // With MySQL the fetch size only streams when the URL sets useCursorFetch=true.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query(VIEW_SELECT + "WHERE f.user.id = :userId ORDER BY f.createdAt DESC")
+    Stream<FoodItemView> streamByUserId(@Param("userId") Long userId);
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query(VIEW_SELECT + "WHERE f.user.id = :userId AND f.createdAt >= :fromDate ORDER BY f.createdAt DESC")
+    Stream<FoodItemView> streamRecentItemsByUser(@Param("userId") Long userId, @Param("fromDate") LocalDateTime fromDate);
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query(VIEW_SELECT + "WHERE f.user.id = :userId AND f.consumedDate BETWEEN :startDate AND :endDate ORDER BY f.consumedDate DESC")
+    Stream<FoodItemView> streamByUserAndConsumedDateBetween(@Param("userId") Long userId, @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
+    
+    // Set-based access for the batch API; every statement is scoped to the owner
+    @Query("SELECT f FROM FoodItem f WHERE f.user.id = :userId AND f.id IN :ids")
+    List<FoodItem> findAllByUserIdAndIdIn(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT new com.foodkeeper.repository.FoodItemRollupRow(f.id, f.createdAt, f.consumedDate, f.calorie) " +
+           "FROM FoodItem f WHERE f.user.id = :userId AND f.id IN :ids")
+    List<FoodItemRollupRow> findRollupRowsByUserIdAndIdIn(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+    
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE FoodItem f SET f.consumedDate = :consumedDate, f.updatedAt = :updatedAt " +
+           "WHERE f.user.id = :userId AND f.id IN :ids")
+    int markConsumedByUserIdAndIdIn(@Param("userId") Long userId, @Param("ids") Collection<Long> ids,
+                                    @Param("consumedDate") LocalDateTime consumedDate,
+                                    @Param("updatedAt") LocalDateTime updatedAt);
+    
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM FoodItem f WHERE f.user.id = :userId AND f.id IN :ids")
+    int deleteByUserIdAndIdIn(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
     
-    // Get total calories consumed by a user
-    @Query("SELECT COALESCE(SUM(f.calorie), 0) FROM FoodItem f WHERE f.user = :user AND f.calorie IS NOT NULL")
-    Long getTotalCaloriesByUser(@Param("user") User user);
-} 
\ No newline at end of file
+    // Name/calorie/quantity history used to build the typeahead trie, oldest first
+    @Query("SELECT new com.foodkeeper.search.NameUsage(f.name, f.calorie, f.quantity, f.createdAt) " +
+           "FROM FoodItem f WHERE f.user.id = :userId ORDER BY f.createdAt ASC, f.id ASC")
+    List<NameUsage> findNameUsagesByUserId(@Param("userId") Long userId);
+}
@@ -0,0 +1,6 @@
+package com.foodkeeper.repository;
+
+import java.time.LocalDateTime;
+
+// The fields of a food item that feed the daily nutrition rollup
+public record FoodItemRollupRow(Long id, LocalDateTime createdAt, LocalDateTime consumedDate, Integer calorie) {}
@@ -0,0 +1,24 @@
+package com.foodkeeper.repository;
+
+import com.foodkeeper.model.FoodItemTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface FoodItemTombstoneRepository extends JpaRepository<FoodItemTombstone, Long> {
+    
+    @Query("SELECT t.itemId FROM FoodItemTombstone t WHERE t.userId = :userId AND t.deletedAt > :since")
+    List<Long> findDeletedIdsSince(@Param("userId") Long userId, @Param("since") LocalDateTime since);
+    
+    // Drops tombstones that no registered device of their owner can still ask for
+    @Modifying
+    @Query("DELETE FROM FoodItemTombstone t WHERE t.deletedAt < :cutoff AND NOT EXISTS " +
+           "(SELECT d FROM SyncDevice d WHERE d.userId = t.userId AND d.syncFrom < t.deletedAt)")
+    int deleteCompacted(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,18 @@
+package com.foodkeeper.repository;
+
+import com.foodkeeper.model.SyncDevice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface SyncDeviceRepository extends JpaRepository<SyncDevice, SyncDevice.Key> {
+    
+    @Modifying
+    @Query("DELETE FROM SyncDevice d WHERE d.lastSeenAt < :cutoff")
+    int deleteInactive(@Param("cutoff") LocalDateTime cutoff);
+}
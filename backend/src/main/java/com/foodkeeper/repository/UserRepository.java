@@ -3,8 +3,13 @@ package com.foodkeeper.repository;
 import com.foodkeeper.model.AuthProvider;
 import com.foodkeeper.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -18,6 +23,19 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     Optional<User> findByProviderAndProviderId(AuthProvider provider, String providerId);
     
+    @Query("SELECT u.id FROM User u ORDER BY u.id")
+    List<Long> findAllIds();
+    
+    // data_version isn't mapped on User, so saving a user never overwrites a bump
+    @Query(value = "SELECT data_version FROM users WHERE id = :id", nativeQuery = true)
+    Optional<Long> findDataVersion(@Param("id") Long id);
+    
+    // Joins the caller's transaction, so the bump commits or rolls back with the change
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE users SET data_version = data_version + 1 WHERE id = :id", nativeQuery = true)
+    int incrementDataVersion(@Param("id") Long id);
+    
     // For OAuth2 users
     default Optional<User> findByGoogleEmail(String email) {
         return findByEmailAndProvider(email, AuthProvider.GOOGLE);
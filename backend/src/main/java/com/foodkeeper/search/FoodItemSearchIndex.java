@@ -0,0 +1,187 @@
+package com.foodkeeper.search;
+
+import com.foodkeeper.dto.FoodItemView;
+import com.foodkeeper.dto.PageCursor;
+import com.foodkeeper.dto.PageResponse;
+import com.foodkeeper.model.FoodItem;
+import com.foodkeeper.repository.FoodItemRepository;
+import com.foodkeeper.transaction.AfterCommit;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * Per-user in-memory search over food item names and descriptions. A user's
+ * index is built lazily on their first search and kept current from the
+ * FoodItemService mutation paths; idle users are evicted under a global
+ * memory budget and simply rebuilt on their next search.
+ */
+@Component
+public class FoodItemSearchIndex implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(FoodItemSearchIndex.class);
+
+    @Autowired
+    private FoodItemRepository foodItemRepository;
+
+    @Value("${app.search.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.search.maxIndexBytes:67108864}")
+    private long maxIndexBytes;
+
+    @Value("${app.search.idleMinutes:30}")
+    private long idleMinutes;
+
+    private Cache<Long, UserSearchIndex> indexes;
+
+    // Bumped before every committed change to a user's items (striped by user id),
+    // so a build that loaded before the change is not cached
+    private final AtomicLongArray changeStamps = new AtomicLongArray(1024);
+
+    @PostConstruct
+    void init() {
+        indexes = Caffeine.newBuilder()
+                .maximumWeight(maxIndexBytes)
+                .weigher((Long userId, UserSearchIndex index) ->
+                        (int) Math.min(Integer.MAX_VALUE, index.estimatedBytes()))
+                .expireAfterAccess(Duration.ofMinutes(idleMinutes))
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, indexes, "search.index");
+        Gauge.builder("foodkeeper.search.index.bytes", indexes,
+                        cache -> cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L))
+                .description("Estimated memory held by per-user search indexes (budget: app.search.maxIndexBytes)")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public PageResponse<FoodItemView> search(Long userId, String query, String cursor, int limit) {
+        UserSearchIndex index = indexFor(userId);
+
+        UserSearchIndex.Hit after = null;
+        if (cursor != null && !cursor.isBlank()) {
+            PageCursor position = PageCursor.decode(cursor);
+            FoodItemView marker = new FoodItemView(position.getId(), null, position.getTimestamp(), null, null, null, null, null);
+            after = new UserSearchIndex.Hit(position.getRank(), marker);
+        }
+
+        List<UserSearchIndex.Hit> hits = index.search(query, after, limit + 1);
+        List<FoodItemView> items = new ArrayList<>(Math.min(hits.size(), limit));
+        for (int i = 0; i < hits.size() && i < limit; i++) {
+            items.add(hits.get(i).item());
+        }
+        String nextCursor = null;
+        if (hits.size() > limit) {
+            UserSearchIndex.Hit last = hits.get(limit - 1);
+            nextCursor = new PageCursor(last.item().createdAt(), last.item().id(), last.rank()).encode();
+        }
+        return new PageResponse<>(items, nextCursor, limit);
+    }
+
+    public void onSaved(Long userId, FoodItem item) {
+        FoodItemView view = FoodItemView.of(item);
+        afterCommit(userId, index -> index.upsert(view));
+    }
+
+    public void onSaved(Long userId, Collection<FoodItem> items) {
+        List<FoodItemView> views = new ArrayList<>(items.size());
+        for (FoodItem item : items) {
+            views.add(FoodItemView.of(item));
+        }
+        afterCommit(userId, index -> views.forEach(index::upsert));
+    }
+
+    public void onConsumed(Long userId, Collection<Long> ids, LocalDateTime consumedDate, LocalDateTime updatedAt) {
+        List<Long> copy = List.copyOf(ids);
+        afterCommit(userId, index -> index.markConsumed(copy, consumedDate, updatedAt));
+    }
+
+    public void onDeleted(Long userId, Collection<Long> ids) {
+        List<Long> copy = List.copyOf(ids);
+        afterCommit(userId, index -> index.remove(copy));
+    }
+
+    // Bulk changes (imports) are cheaper to rebuild than to replay
+    public void invalidate(Long userId) {
+        indexes.invalidate(userId);
+        AfterCommit.run(() -> {
+            changeStamps.incrementAndGet(stripe(userId));
+            indexes.invalidate(userId);
+        });
+    }
+
+    public long indexedUsers() {
+        return indexes.estimatedSize();
+    }
+
+    // The query runs outside the cache's compute, so it never holds a map bin lock.
+    // The result is cached only if no change for the user (or a stripe-mate)
+    // committed meanwhile; otherwise this request uses it once and the next rebuilds.
+    private UserSearchIndex indexFor(Long userId) {
+        UserSearchIndex cached = indexes.getIfPresent(userId);
+        if (cached != null) {
+            return cached;
+        }
+        long stamp = changeStamps.get(stripe(userId));
+        UserSearchIndex built = build(userId);
+        UserSearchIndex index = indexes.asMap().compute(userId, (id, current) ->
+                current != null ? current : changeStamps.get(stripe(userId)) == stamp ? built : null);
+        return index != null ? index : built;
+    }
+
+    private UserSearchIndex build(Long userId) {
+        long start = System.nanoTime();
+        List<FoodItemView> items = foodItemRepository.findViewsByUserId(userId);
+        UserSearchIndex index = new UserSearchIndex(items);
+        logger.debug("Built search index for user {} ({} items, ~{} bytes) in {} ms",
+                userId, items.size(), index.estimatedBytes(), (System.nanoTime() - start) / 1_000_000);
+        return index;
+    }
+
+    // Changes are applied once the transaction commits, and only to indexes that
+    // are already built. The stamp is bumped first, so a build that loaded before
+    // the commit is either discarded or already cached and patched here; every
+    // change is idempotent, so patching an index that saw it is harmless.
+    private void afterCommit(Long userId, Consumer<UserSearchIndex> change) {
+        if (!enabled) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            changeStamps.incrementAndGet(stripe(userId));
+            indexes.asMap().computeIfPresent(userId, (id, index) -> {
+                change.accept(index);
+                return index; // re-put so the weigher sees the new size
+            });
+        });
+    }
+
+    private int stripe(Long userId) {
+        return (int) Math.floorMod(userId, (long) changeStamps.length());
+    }
+}
@@ -0,0 +1,86 @@
+package com.foodkeeper.search;
+
+import com.foodkeeper.dto.FoodSuggestion;
+import com.foodkeeper.model.FoodItem;
+import com.foodkeeper.repository.FoodItemRepository;
+import com.foodkeeper.transaction.AfterCommit;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Typeahead over each user's previously logged food names, served from a
+ * per-user {@link SuggestionTrie}. Tries are built from one projection query on
+ * first use, bumped as items are saved, and dropped (to be rebuilt) when items
+ * are edited, deleted or imported.
+ */
+@Component
+public class FoodSuggestionIndex implements MeterBinder {
+
+    @Autowired
+    private FoodItemRepository foodItemRepository;
+
+    @Value("${app.suggest.maxUsers:10000}")
+    private long maxUsers;
+
+    @Value("${app.suggest.idleMinutes:30}")
+    private long idleMinutes;
+
+    private Cache<Long, SuggestionTrie> tries;
+
+    @PostConstruct
+    void init() {
+        tries = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterAccess(Duration.ofMinutes(idleMinutes))
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, tries, "suggest.tries");
+    }
+
+    public List<FoodSuggestion> suggest(Long userId, String prefix, int limit) {
+        return tries.get(userId, this::build).suggest(prefix, limit);
+    }
+
+    public void onSaved(Long userId, FoodItem item) {
+        onSaved(userId, List.of(item));
+    }
+
+    public void onSaved(Long userId, Collection<FoodItem> items) {
+        List<NameUsage> usages = new ArrayList<>(items.size());
+        for (FoodItem item : items) {
+            usages.add(new NameUsage(item.getName(), item.getCalorie(), item.getQuantity(), item.getCreatedAt()));
+        }
+        // A trie built in the instant between commit and this callback could count an
+        // item twice; counts are only a ranking signal, so that is tolerated
+        AfterCommit.run(() -> tries.asMap().computeIfPresent(userId, (id, trie) -> {
+            usages.forEach(trie::record);
+            return trie;
+        }));
+    }
+
+    // Counts can't be decremented safely without the old name, so rebuild instead
+    public void invalidate(Long userId) {
+        tries.invalidate(userId);
+        AfterCommit.run(() -> tries.invalidate(userId));
+    }
+
+    private SuggestionTrie build(Long userId) {
+        return new SuggestionTrie(foodItemRepository.findNameUsagesByUserId(userId));
+    }
+}
@@ -0,0 +1,6 @@
+package com.foodkeeper.search;
+
+import java.time.LocalDateTime;
+
+// One logged item as seen by the suggestion trie (built by a JPQL constructor expression)
+public record NameUsage(String name, Integer calorie, String quantity, LocalDateTime createdAt) {}
@@ -0,0 +1,132 @@
+package com.foodkeeper.search;
+
+import com.foodkeeper.dto.FoodSuggestion;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Prefix trie over one user's logged food names (case-insensitive) with a
+ * log count and the most recent calorie/quantity per name. Children are kept
+ * in sorted parallel arrays to stay compact.
+ */
+class SuggestionTrie {
+
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private static final Comparator<Entry> POPULARITY = Comparator
+            .comparingInt((Entry e) -> e.count)
+            .thenComparing(e -> e.lastUsedAt, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private static final class Node {
+        char[] keys = NO_KEYS;
+        Node[] children = NO_CHILDREN;
+        Entry entry;
+
+        Node child(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            return i >= 0 ? children[i] : null;
+        }
+
+        Node childOrCreate(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            if (i >= 0) {
+                return children[i];
+            }
+            int at = -i - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, at);
+            System.arraycopy(children, 0, newChildren, 0, at);
+            newKeys[at] = c;
+            newChildren[at] = new Node();
+            System.arraycopy(keys, at, newKeys, at + 1, keys.length - at);
+            System.arraycopy(children, at, newChildren, at + 1, children.length - at);
+            keys = newKeys;
+            children = newChildren;
+            return newChildren[at];
+        }
+    }
+
+    private static final class Entry {
+        String name;
+        int count;
+        Integer lastCalorie;
+        String lastQuantity;
+        LocalDateTime lastUsedAt;
+    }
+
+    private final Node root = new Node();
+
+    SuggestionTrie(List<NameUsage> usages) {
+        for (NameUsage usage : usages) {
+            record(usage);
+        }
+    }
+
+    synchronized void record(NameUsage usage) {
+        String key = UserSearchIndex.normalize(usage.name());
+        if (key.isEmpty()) {
+            return;
+        }
+        Node node = root;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.childOrCreate(key.charAt(i));
+        }
+        if (node.entry == null) {
+            node.entry = new Entry();
+        }
+        Entry entry = node.entry;
+        entry.count++;
+        if (entry.lastUsedAt == null || usage.createdAt() == null || !usage.createdAt().isBefore(entry.lastUsedAt)) {
+            entry.name = usage.name().trim();
+            entry.lastCalorie = usage.calorie();
+            entry.lastQuantity = usage.quantity();
+            entry.lastUsedAt = usage.createdAt();
+        }
+    }
+
+    // Top-k names under the prefix, most logged first, ties broken by most recent use
+    synchronized List<FoodSuggestion> suggest(String prefix, int limit) {
+        Node node = root;
+        String key = UserSearchIndex.normalize(prefix);
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.child(key.charAt(i));
+        }
+        if (node == null) {
+            return List.of();
+        }
+
+        PriorityQueue<Entry> top = new PriorityQueue<>(limit + 1, POPULARITY);
+        Deque<Node> stack = new ArrayDeque<>();
+        stack.push(node);
+        while (!stack.isEmpty()) {
+            Node current = stack.pop();
+            if (current.entry != null) {
+                top.offer(current.entry);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+            for (Node child : current.children) {
+                stack.push(child);
+            }
+        }
+
+        List<FoodSuggestion> suggestions = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            Entry e = top.poll();
+            suggestions.add(new FoodSuggestion(e.name, e.count, e.lastCalorie, e.lastQuantity, e.lastUsedAt));
+        }
+        Collections.reverse(suggestions);
+        return suggestions;
+    }
+}
@@ -0,0 +1,218 @@
+package com.foodkeeper.search;
+
+import com.foodkeeper.dto.FoodItemView;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Trigram inverted index over one user's food item names and descriptions.
+ * Documents are immutable {@link FoodItemView} records, so search results never
+ * touch the database and need no defensive copies.
+ */
+class UserSearchIndex {
+
+    static final int GRAM = 3;
+
+    // Rough per-entry costs used to weigh the index against the memory budget
+    private static final int DOC_OVERHEAD_BYTES = 160;
+    private static final int POSTING_BYTES = 48;
+    private static final int GRAM_OVERHEAD_BYTES = 96;
+
+    static final int RANK_NAME_PREFIX = 0;
+    static final int RANK_NAME = 1;
+    static final int RANK_DESCRIPTION = 2;
+
+    private static final Comparator<Hit> ORDER = Comparator
+            .comparingInt(Hit::rank)
+            .thenComparing((Hit h) -> h.item().createdAt(), Comparator.reverseOrder())
+            .thenComparing((Hit h) -> h.item().id(), Comparator.reverseOrder());
+
+    record Hit(int rank, FoodItemView item) {}
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Doc> docs = new HashMap<>();
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private long estimatedBytes;
+
+    private record Doc(FoodItemView item, String name, String description, Set<String> grams) {}
+
+    UserSearchIndex(Collection<FoodItemView> items) {
+        for (FoodItemView item : items) {
+            addDoc(item);
+        }
+    }
+
+    void upsert(FoodItemView item) {
+        lock.writeLock().lock();
+        try {
+            removeDoc(item.id());
+            addDoc(item);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(Collection<Long> ids) {
+        lock.writeLock().lock();
+        try {
+            for (Long id : ids) {
+                removeDoc(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void markConsumed(Collection<Long> ids, LocalDateTime consumedDate, LocalDateTime updatedAt) {
+        lock.writeLock().lock();
+        try {
+            for (Long id : ids) {
+                Doc doc = docs.get(id);
+                if (doc != null) {
+                    FoodItemView item = doc.item();
+                    FoodItemView consumed = new FoodItemView(item.id(), item.name(), item.createdAt(), consumedDate,
+                            updatedAt, item.description(), item.calorie(), item.quantity());
+                    docs.put(id, new Doc(consumed, doc.name(), doc.description(), doc.grams()));
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} hits ordered by rank, then newest first, starting
+     * strictly after the given position (null for the first page).
+     */
+    List<Hit> search(String query, Hit after, int limit) {
+        String needle = normalize(query);
+        lock.readLock().lock();
+        try {
+            Collection<Long> candidates = candidates(needle);
+            List<Hit> hits = new ArrayList<>();
+            for (Long id : candidates) {
+                Doc doc = docs.get(id);
+                int rank = rank(doc, needle);
+                if (rank < 0) {
+                    continue;
+                }
+                Hit hit = new Hit(rank, doc.item());
+                if (after == null || ORDER.compare(hit, after) > 0) {
+                    hits.add(hit);
+                }
+            }
+            hits.sort(ORDER);
+            return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    long estimatedBytes() {
+        lock.readLock().lock();
+        try {
+            return estimatedBytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Intersect posting lists (smallest first); queries shorter than a gram scan every doc
+    private Collection<Long> candidates(String needle) {
+        if (needle.length() < GRAM) {
+            return docs.keySet();
+        }
+        List<Set<Long>> lists = new ArrayList<>();
+        for (String gram : grams(needle)) {
+            Set<Long> posting = postings.get(gram);
+            if (posting == null) {
+                return List.of();
+            }
+            lists.add(posting);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+        Set<Long> result = new HashSet<>(lists.get(0));
+        for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+            result.retainAll(lists.get(i));
+        }
+        return result;
+    }
+
+    // Grams only narrow the candidates; the substring check removes false positives
+    private static int rank(Doc doc, String needle) {
+        if (doc.name().startsWith(needle)) {
+            return RANK_NAME_PREFIX;
+        }
+        if (doc.name().contains(needle)) {
+            return RANK_NAME;
+        }
+        if (doc.description() != null && doc.description().contains(needle)) {
+            return RANK_DESCRIPTION;
+        }
+        return -1;
+    }
+
+    private void addDoc(FoodItemView item) {
+        String name = normalize(item.name());
+        String description = item.description() != null ? normalize(item.description()) : null;
+        Set<String> grams = grams(name);
+        if (description != null) {
+            grams.addAll(grams(description));
+        }
+        for (String gram : grams) {
+            Set<Long> posting = postings.computeIfAbsent(gram, g -> {
+                estimatedBytes += GRAM_OVERHEAD_BYTES;
+                return new HashSet<>();
+            });
+            posting.add(item.id());
+        }
+        docs.put(item.id(), new Doc(item, name, description, grams));
+        estimatedBytes += docBytes(name, description, grams.size());
+    }
+
+    private void removeDoc(Long id) {
+        Doc doc = docs.remove(id);
+        if (doc == null) {
+            return;
+        }
+        for (String gram : doc.grams()) {
+            Set<Long> posting = postings.get(gram);
+            if (posting != null) {
+                posting.remove(id);
+                if (posting.isEmpty()) {
+                    postings.remove(gram);
+                    estimatedBytes -= GRAM_OVERHEAD_BYTES;
+                }
+            }
+        }
+        estimatedBytes -= docBytes(doc.name(), doc.description(), doc.grams().size());
+    }
+
+    private static long docBytes(String name, String description, int gramCount) {
+        long chars = name.length() + (description != null ? description.length() : 0);
+        // The original strings live on the view as well as in normalized form
+        return DOC_OVERHEAD_BYTES + chars * 4 + (long) gramCount * POSTING_BYTES;
+    }
+
+    static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+}
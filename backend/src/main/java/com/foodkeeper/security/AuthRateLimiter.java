@@ -0,0 +1,111 @@
+package com.foodkeeper.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-endpoint request limits for the unauthenticated auth API, which fronts
+ * BCrypt checks and SMTP sends. Each request takes a token from the client IP's
+ * bucket and from the email's bucket; limits are read from
+ * app.ratelimit.&lt;endpoint&gt;.{ipCapacity,emailCapacity,periodSeconds} and a
+ * capacity of 0 disables that key. Buckets live in a size-bounded cache and are
+ * dropped once idle, which only ever hands a client a full bucket early.
+ */
+@Component
+public class AuthRateLimiter {
+
+    @Autowired
+    private Environment environment;
+
+    @Value("${app.ratelimit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.ratelimit.maxKeys:100000}")
+    private long maxKeys;
+
+    // Should be at least the longest periodSeconds, or idle buckets reset early
+    @Value("${app.ratelimit.idleMinutes:15}")
+    private long idleMinutes;
+
+    @Value("${app.ratelimit.trustForwardedFor:false}")
+    private boolean trustForwardedFor;
+
+    private Cache<String, TokenBucket> buckets;
+
+    private final Map<String, Limit> limits = new ConcurrentHashMap<>();
+
+    private record Limit(TokenBucket.Rule perIp, TokenBucket.Rule perEmail) {}
+
+    // Nanosecond clock for the buckets; tests substitute a fake one
+    LongSupplier nanoClock = System::nanoTime;
+
+    @PostConstruct
+    void init() {
+        buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofMinutes(idleMinutes))
+                .build();
+    }
+
+    public void check(String endpoint, HttpServletRequest request, String email) {
+        if (!enabled) {
+            return;
+        }
+        Limit limit = limits.computeIfAbsent(endpoint, this::loadLimit);
+        long now = nanoClock.getAsLong();
+        long wait = consume(endpoint + "|ip|" + clientIp(request), limit.perIp(), now);
+        if (wait == 0 && StringUtils.hasText(email)) {
+            wait = consume(endpoint + "|email|" + email.trim().toLowerCase(Locale.ROOT), limit.perEmail(), now);
+        }
+        if (wait > 0) {
+            throw new RateLimitExceededException(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + 999_999_999L)));
+        }
+    }
+
+    private long consume(String key, TokenBucket.Rule rule, long now) {
+        if (rule == null) {
+            return 0;
+        }
+        return buckets.get(key, k -> new TokenBucket(now)).tryConsume(rule, now);
+    }
+
+    private Limit loadLimit(String endpoint) {
+        long period = TimeUnit.SECONDS.toNanos(property(endpoint, "periodSeconds", 60));
+        return new Limit(rule(property(endpoint, "ipCapacity", 0), period),
+                rule(property(endpoint, "emailCapacity", 0), period));
+    }
+
+    private long property(String endpoint, String name, long defaultValue) {
+        return environment.getProperty("app.ratelimit." + endpoint + "." + name, Long.class, defaultValue);
+    }
+
+    private static TokenBucket.Rule rule(long capacity, long periodNanos) {
+        return capacity > 0 ? new TokenBucket.Rule(capacity, periodNanos) : null;
+    }
+
+    // Only trust X-Forwarded-For behind a proxy that overwrites it
+    private String clientIp(HttpServletRequest request) {
+        if (trustForwardedFor) {
+            String forwarded = request.getHeader("X-Forwarded-For");
+            if (StringUtils.hasText(forwarded)) {
+                int comma = forwarded.indexOf(',');
+                return (comma >= 0 ? forwarded.substring(0, comma) : forwarded).trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+}
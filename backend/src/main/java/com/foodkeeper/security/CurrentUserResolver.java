@@ -0,0 +1,45 @@
+package com.foodkeeper.security;
+
+import com.foodkeeper.model.User;
+import com.foodkeeper.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+/**
+ * Resolves the id of the authenticated user once per request. AuthTokenFilter
+ * already places a {@link UserPrincipal} carrying the id in the SecurityContext,
+ * so the common path never touches the database; other principals fall back to
+ * a lookup by name.
+ */
+@Component
+@RequestScope
+public class CurrentUserResolver {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Long userId;
+
+    public Long getUserId() {
+        if (userId == null) {
+            userId = resolveUserId();
+        }
+        return userId;
+    }
+
+    private Long resolveUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            throw new RuntimeException("User not found");
+        }
+        if (authentication.getPrincipal() instanceof UserPrincipal principal && principal.id() != null) {
+            return principal.id();
+        }
+        return userRepository.findByEmail(authentication.getName())
+                .map(User::getId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+}
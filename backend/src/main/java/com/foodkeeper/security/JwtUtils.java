@@ -1,7 +1,15 @@
 package com.foodkeeper.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -10,10 +18,17 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 
 @Component
-public class JwtUtils {
+public class JwtUtils implements MeterBinder {
     private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
 
     @Value("${app.jwtSecret:foodKeeperSecretKey}")
@@ -22,8 +37,67 @@ public class JwtUtils {
     @Value("${app.jwtExpirationMs:86400000}")
     private int jwtExpirationMs;
 
+    @Value("${app.jwtCache.maxSize:10000}")
+    private long verifiedTokenCacheSize;
+
+    private SecretKey signingKey;
+
+    private JwtParser jwtParser;
+
+    // SHA-256 digest of an already-verified token -> its subject, kept until the token's exp
+    private Cache<String, VerifiedToken> verifiedTokens;
+
+    private record VerifiedToken(String subject, long expiresAtMillis) {}
+
+    // Why a token was rejected; the metric tag values
+    enum FailureReason { MALFORMED, EXPIRED, UNSUPPORTED, EMPTY, SIGNATURE }
+
+    private final Map<FailureReason, LongAdder> failures = new EnumMap<>(FailureReason.class);
+
+    @PostConstruct
+    void init() {
+        for (FailureReason reason : FailureReason.values()) {
+            failures.put(reason, new LongAdder());
+        }
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedTokenCacheSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+                        return Math.max(0, value.expiresAtMillis() - System.currentTimeMillis()) * 1_000_000L;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Map.Entry<FailureReason, LongAdder> failure : failures.entrySet()) {
+            FunctionCounter.builder("foodkeeper.jwt.validation.failures", failure.getValue(), LongAdder::sum)
+                    .description("JWTs rejected by signature or claims validation")
+                    .tag("reason", failure.getKey().name().toLowerCase())
+                    .register(registry);
+        }
+        CaffeineCacheMetrics.monitor(registry, verifiedTokens, "jwt.verified");
+    }
+
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        return signingKey;
     }
 
     public String generateJwtToken(Authentication authentication) {
@@ -40,31 +114,72 @@ public class JwtUtils {
                 .compact();
     }
 
+    /**
+     * Verifies the token in a single pass and returns its subject, or null if the
+     * token is invalid. Tokens seen before are answered from the digest cache
+     * without re-running HMAC verification.
+     */
+    public String validateAndGetUsername(String authToken) {
+        if (authToken == null || authToken.isEmpty()) {
+            failures.get(FailureReason.EMPTY).increment();
+            logger.error("JWT claims string is empty");
+            return null;
+        }
+
+        String digest = digest(authToken);
+        VerifiedToken cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null && cached.expiresAtMillis() > System.currentTimeMillis()) {
+            return cached.subject();
+        }
+
+        Claims claims = parseClaims(authToken);
+        if (claims == null) {
+            return null;
+        }
+        if (claims.getExpiration() != null) {
+            verifiedTokens.put(digest, new VerifiedToken(claims.getSubject(), claims.getExpiration().getTime()));
+        }
+        return claims.getSubject();
+    }
+
     public String getUserNameFromJwtToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
+        return jwtParser.parseSignedClaims(token)
                 .getPayload()
                 .getSubject();
     }
 
     public boolean validateJwtToken(String authToken) {
+        return validateAndGetUsername(authToken) != null;
+    }
+
+    private Claims parseClaims(String authToken) {
         try {
-            Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(authToken);
-            return true;
+            return jwtParser.parseSignedClaims(authToken).getPayload();
         } catch (MalformedJwtException e) {
+            failures.get(FailureReason.MALFORMED).increment();
             logger.error("Invalid JWT token: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
+            failures.get(FailureReason.EXPIRED).increment();
             logger.error("JWT token is expired: {}", e.getMessage());
         } catch (UnsupportedJwtException e) {
+            failures.get(FailureReason.UNSUPPORTED).increment();
             logger.error("JWT token is unsupported: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
+            failures.get(FailureReason.EMPTY).increment();
             logger.error("JWT claims string is empty: {}", e.getMessage());
+        } catch (JwtException e) {
+            failures.get(FailureReason.SIGNATURE).increment();
+            logger.error("Invalid JWT signature: {}", e.getMessage());
+        }
+        return null;
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
         }
-        return false;
     }
-} 
\ No newline at end of file
+}
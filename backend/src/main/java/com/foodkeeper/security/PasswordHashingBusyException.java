@@ -0,0 +1,8 @@
+package com.foodkeeper.security;
+
+public class PasswordHashingBusyException extends RuntimeException {
+
+    public PasswordHashingBusyException() {
+        super("Server is busy, please try again shortly");
+    }
+}
@@ -0,0 +1,165 @@
+package com.foodkeeper.security;
+
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.core.instrument.distribution.TimeWindowMax;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Fixed-size pool that runs every password hash, so a burst of logins can use at
+ * most hashThreads cores and never ties up more than hashQueueCapacity request
+ * threads waiting. Work beyond that is rejected immediately with
+ * {@link PasswordHashingBusyException} instead of queuing on Tomcat's pool.
+ */
+@Component
+public class PasswordHashingExecutor implements MeterBinder {
+
+    // 0 means one thread per available core
+    @Value("${app.security.hashThreads:0}")
+    private int threads;
+
+    @Value("${app.security.hashQueueCapacity:64}")
+    private int queueCapacity;
+
+    @Value("${app.security.hashTimeoutMs:5000}")
+    private long timeoutMillis;
+
+    private ThreadPoolExecutor executor;
+
+    private final AtomicLong completedCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong hashTotalNanos = new AtomicLong();
+    // Decays like a Timer's max: the slowest hash over the last couple of minutes
+    private final TimeWindowMax hashMax = new TimeWindowMax(Clock.SYSTEM, DistributionStatisticConfig.DEFAULT);
+    private final AtomicLong waitTotalNanos = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("foodkeeper.password.hash.queued", this, PasswordHashingExecutor::getQueueDepth)
+                .description("Password hashes waiting for a hashing thread")
+                .register(registry);
+        Gauge.builder("foodkeeper.password.hash.active", this, PasswordHashingExecutor::getActiveCount)
+                .description("Password hashes currently running")
+                .register(registry);
+        FunctionCounter.builder("foodkeeper.password.hash.rejected", this, PasswordHashingExecutor::getRejectedCount)
+                .description("Password hashes refused because the queue was full")
+                .register(registry);
+        FunctionTimer.builder("foodkeeper.password.hash", this,
+                        PasswordHashingExecutor::getCompletedCount, PasswordHashingExecutor::getHashTotalNanos, TimeUnit.NANOSECONDS)
+                .description("Time spent hashing or verifying passwords")
+                .register(registry);
+        Gauge.builder("foodkeeper.password.hash.max", this, PasswordHashingExecutor::getHashMaxSeconds)
+                .description("Slowest recent password hash")
+                .baseUnit("seconds")
+                .register(registry);
+        FunctionTimer.builder("foodkeeper.password.hash.wait", this,
+                        PasswordHashingExecutor::getCompletedCount, PasswordHashingExecutor::getWaitTotalNanos, TimeUnit.NANOSECONDS)
+                .description("Time password hashes spent queued before running")
+                .register(registry);
+    }
+
+    public <T> T execute(Supplier<T> hash) {
+        long submitted = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long start = System.nanoTime();
+                waitTotalNanos.addAndGet(start - submitted);
+                try {
+                    return hash.get();
+                } finally {
+                    long elapsed = System.nanoTime() - start;
+                    hashTotalNanos.addAndGet(elapsed);
+                    hashMax.record(elapsed, TimeUnit.NANOSECONDS);
+                    completedCount.incrementAndGet();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCount.incrementAndGet();
+            throw new PasswordHashingBusyException();
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejectedCount.incrementAndGet();
+            throw new PasswordHashingBusyException();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingBusyException();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public long getCompletedCount() {
+        return completedCount.get();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    public long getHashTotalNanos() {
+        return hashTotalNanos.get();
+    }
+
+    public double getHashMaxSeconds() {
+        return hashMax.poll(TimeUnit.SECONDS);
+    }
+
+    public long getWaitTotalNanos() {
+        return waitTotalNanos.get();
+    }
+}
@@ -0,0 +1,56 @@
+package com.foodkeeper.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket held in a single long: the bucket stores the
+ * theoretical arrival time of the next request (GCRA), which is equivalent to
+ * a bucket of {@code capacity} tokens refilled evenly over {@code period}.
+ * Consuming a token is one CAS; refill needs no background work.
+ */
+public final class TokenBucket {
+
+    // Shared by every bucket of the same limit, so buckets stay one field wide
+    public record Rule(long capacity, long periodNanos) {
+
+        public Rule {
+            if (capacity <= 0 || periodNanos <= 0) {
+                throw new IllegalArgumentException("Capacity and period must be positive");
+            }
+        }
+
+        long emissionNanos() {
+            return Math.max(1, periodNanos / capacity);
+        }
+
+        long toleranceNanos() {
+            return emissionNanos() * capacity;
+        }
+    }
+
+    private final AtomicLong theoreticalArrival;
+
+    public TokenBucket(long nowNanos) {
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes one token. Returns 0 if it was available, otherwise the nanoseconds
+     * until the next token is (nothing is consumed in that case).
+     */
+    public long tryConsume(Rule rule, long nowNanos) {
+        long emission = rule.emissionNanos();
+        long tolerance = rule.toleranceNanos();
+        while (true) {
+            long tat = theoreticalArrival.get();
+            long next = Math.max(tat, nowNanos) + emission;
+            long wait = next - nowNanos - tolerance;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(tat, next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -7,6 +7,7 @@ import com.foodkeeper.model.OtpType;
 import com.foodkeeper.model.User;
 import com.foodkeeper.repository.UserRepository;
 import com.foodkeeper.security.JwtUtils;
+import com.foodkeeper.security.UserPrincipalCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -37,6 +38,9 @@ public class AuthService {
     @Autowired
     private EmailService emailService;
 
+    @Autowired
+    private UserPrincipalCache userPrincipalCache;
+
     @Transactional
     public AuthResponse.MessageResponse registerUser(AuthRequest.SignupRequest signUpRequest) {
         if (userRepository.existsByEmail(signUpRequest.getEmail())) {
@@ -54,14 +58,10 @@ public class AuthService {
         user.setProvider(AuthProvider.LOCAL);
         userRepository.save(user);
 
-        // Send email verification OTP
-        try {
-            String otp = otpService.generateAndSaveOtp(user.getEmail(), OtpType.EMAIL_VERIFICATION);
-            emailService.sendOtpEmail(user.getEmail(), otp, "Email Verification");
-        } catch (Exception e) {
-            // Log error but don't fail registration
-            System.err.println("Failed to send verification email: " + e.getMessage());
-        }
+        // Queued in this transaction: SMTP trouble is retried by the outbox, and a
+        // failed enqueue rolls back the registration instead of leaving it unverifiable
+        String otp = otpService.generateAndSaveOtp(user.getEmail(), OtpType.EMAIL_VERIFICATION);
+        emailService.sendOtpEmail(user.getEmail(), otp, "Email Verification");
 
         return new AuthResponse.MessageResponse("User registered successfully. Please check your email for verification OTP.");
     }
@@ -96,17 +96,15 @@ public class AuthService {
 
         user.setEmailVerified(true);
         userRepository.save(user);
+        userPrincipalCache.evict(user.getEmail());
 
-        // Send welcome email
-        try {
-            emailService.sendWelcomeEmail(user.getEmail(), user.getFirstName());
-        } catch (Exception e) {
-            System.err.println("Failed to send welcome email: " + e.getMessage());
-        }
+        // Queued in this transaction; delivery failures are retried by the outbox
+        emailService.sendWelcomeEmail(user.getEmail(), user.getFirstName());
 
         return new AuthResponse.MessageResponse("Email verified successfully!");
     }
 
+    @Transactional
     public AuthResponse.MessageResponse sendPasswordResetOtp(AuthRequest.EmailRequest request) {
         User user = userRepository.findByLocalEmail(request.getEmail())
             .orElseThrow(() -> new RuntimeException("User not found"));
@@ -128,10 +126,12 @@ public class AuthService {
 
         user.setPassword(passwordEncoder.encode(request.getNewPassword()));
         userRepository.save(user);
+        userPrincipalCache.evict(user.getEmail());
 
         return new AuthResponse.MessageResponse("Password reset successfully!");
     }
 
+    @Transactional
     public AuthResponse.MessageResponse resendVerificationOtp(AuthRequest.EmailRequest request) {
         User user = userRepository.findByEmail(request.getEmail())
             .orElseThrow(() -> new RuntimeException("User not found"));
@@ -0,0 +1,277 @@
+package com.foodkeeper.service;
+
+import com.foodkeeper.model.EmailOutbox;
+import com.foodkeeper.model.EmailStatus;
+import com.foodkeeper.repository.EmailOutboxRepository;
+import com.foodkeeper.transaction.AfterCommit;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Delivers email_outbox rows in the background. Each pass claims a batch of due
+ * rows (leasing them so other instances skip them), sends the whole batch over
+ * one SMTP connection, and records per-message success or schedules a retry with
+ * exponential backoff. A pass runs on a timer and right after any transaction
+ * that queued mail commits.
+ */
+@Component
+public class EmailOutboxDispatcher implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+
+    @Autowired
+    private EmailOutboxRepository outboxRepository;
+
+    @Autowired
+    private JavaMailSender mailSender;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${spring.mail.username}")
+    private String fromEmail;
+
+    @Value("${app.mail.outbox.batchSize:50}")
+    private int batchSize;
+
+    @Value("${app.mail.outbox.pollMs:5000}")
+    private long pollMs;
+
+    @Value("${app.mail.outbox.leaseMs:60000}")
+    private long leaseMs;
+
+    @Value("${app.mail.outbox.maxAttempts:8}")
+    private int maxAttempts;
+
+    @Value("${app.mail.outbox.initialBackoffMs:10000}")
+    private long initialBackoffMs;
+
+    @Value("${app.mail.outbox.maxBackoffMs:3600000}")
+    private long maxBackoffMs;
+
+    @Value("${app.mail.outbox.retentionDays:7}")
+    private long retentionDays;
+
+    // One thread: passes never overlap, and wake-ups queued during a pass coalesce
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "email-outbox");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicBoolean wakeUpPending = new AtomicBoolean();
+
+    private static final long PURGE_INTERVAL_MS = 3_600_000;
+
+    private static final long PENDING_REFRESH_MS = 30_000;
+
+    // Only touched from the dispatcher thread
+    private long lastPurgeMillis;
+    private long lastPendingRefreshMillis;
+
+    // Refreshed by the dispatcher, so scrapes never run COUNT(*) themselves
+    private final AtomicLong pendingCount = new AtomicLong();
+
+    private final LongAdder sentCount = new LongAdder();
+    private final LongAdder retryCount = new LongAdder();
+    private final LongAdder abandonedCount = new LongAdder();
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("foodkeeper.email.sent", sentCount, LongAdder::sum)
+                .description("Emails handed to the SMTP server")
+                .register(registry);
+        // outcome=retry: rescheduled with backoff; outcome=abandoned: maxAttempts reached
+        FunctionCounter.builder("foodkeeper.email.failures", retryCount, LongAdder::sum)
+                .description("Failed email delivery attempts")
+                .tag("outcome", "retry")
+                .register(registry);
+        FunctionCounter.builder("foodkeeper.email.failures", abandonedCount, LongAdder::sum)
+                .description("Failed email delivery attempts")
+                .tag("outcome", "abandoned")
+                .register(registry);
+        Gauge.builder("foodkeeper.email.outbox.pending", pendingCount, AtomicLong::get)
+                .description("Queued emails not yet sent or abandoned, as of the last dispatcher pass")
+                .register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        executor.scheduleWithFixedDelay(this::runPass, pollMs, pollMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    // Trigger a pass as soon as the current transaction (if any) commits
+    public void wakeUpAfterCommit() {
+        AfterCommit.run(this::wakeUp);
+    }
+
+    private void wakeUp() {
+        if (wakeUpPending.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                wakeUpPending.set(false);
+                runPass();
+            });
+        }
+    }
+
+    private void runPass() {
+        try {
+            List<EmailOutbox> batch;
+            do {
+                batch = claimBatch();
+                if (!batch.isEmpty()) {
+                    deliver(batch);
+                }
+            } while (batch.size() == batchSize);
+            purgeOld();
+            refreshPendingCount();
+        } catch (RuntimeException e) {
+            logger.error("Email outbox pass failed: {}", e.getMessage());
+        }
+    }
+
+    private List<EmailOutbox> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailOutbox> batch = new TransactionTemplate(transactionManager).execute(status -> {
+            List<EmailOutbox> due = outboxRepository.findDueForUpdate(EmailStatus.PENDING, now, PageRequest.ofSize(batchSize));
+            // Lease: if this instance dies mid-send the rows become due again afterwards
+            due.forEach(email -> email.setNextAttemptAt(now.plusNanos(leaseMs * 1_000_000)));
+            return due;
+        });
+        return batch != null ? batch : Collections.emptyList();
+    }
+
+    private void deliver(List<EmailOutbox> batch) {
+        Map<EmailOutbox, Exception> failed = new IdentityHashMap<>();
+        Map<Object, EmailOutbox> byMessage = new IdentityHashMap<>();
+        List<MimeMessage> messages = new ArrayList<>(batch.size());
+        for (EmailOutbox email : batch) {
+            try {
+                MimeMessage message = toMimeMessage(email);
+                messages.add(message);
+                byMessage.put(message, email);
+            } catch (MessagingException e) {
+                failed.put(email, e);
+            }
+        }
+
+        // JavaMailSender sends an array over a single connection
+        if (!messages.isEmpty()) {
+            try {
+                mailSender.send(messages.toArray(new MimeMessage[0]));
+            } catch (MailSendException e) {
+                if (e.getFailedMessages().isEmpty()) {
+                    byMessage.values().forEach(email -> failed.put(email, e));
+                } else {
+                    e.getFailedMessages().forEach((message, error) -> failed.put(byMessage.get(message), error));
+                }
+            } catch (MailException e) {
+                byMessage.values().forEach(email -> failed.put(email, e));
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (EmailOutbox email : batch) {
+            Exception error = failed.get(email);
+            if (error == null) {
+                email.setStatus(EmailStatus.SENT);
+                email.setSentAt(now);
+                email.setLastError(null);
+                sentCount.increment();
+            } else {
+                scheduleRetry(email, error, now);
+            }
+        }
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> outboxRepository.saveAll(batch));
+        logger.debug("Email outbox sent {} of {} messages", batch.size() - failed.size(), batch.size());
+    }
+
+    private void scheduleRetry(EmailOutbox email, Exception error, LocalDateTime now) {
+        int attempts = email.getAttempts() + 1;
+        email.setAttempts(attempts);
+        String message = String.valueOf(error.getMessage());
+        email.setLastError(message.length() > 500 ? message.substring(0, 500) : message);
+        if (attempts >= maxAttempts) {
+            email.setStatus(EmailStatus.FAILED);
+            abandonedCount.increment();
+            logger.error("Giving up on email {} to {} after {} attempts: {}", email.getId(), email.getRecipient(), attempts, message);
+            return;
+        }
+        long backoffMs = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempts - 1, 30));
+        email.setNextAttemptAt(now.plusNanos(backoffMs * 1_000_000));
+        retryCount.increment();
+        logger.warn("Email {} to {} failed (attempt {}), retrying in {} ms: {}", email.getId(), email.getRecipient(), attempts, backoffMs, message);
+    }
+
+    private MimeMessage toMimeMessage(EmailOutbox email) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, StandardCharsets.UTF_8.name());
+        helper.setFrom(fromEmail);
+        helper.setTo(email.getRecipient());
+        helper.setSubject(email.getSubject());
+        helper.setText(email.getBody());
+        return message;
+    }
+
+    // Counted at most every PENDING_REFRESH_MS however often passes run
+    private void refreshPendingCount() {
+        long now = System.currentTimeMillis();
+        if (now - lastPendingRefreshMillis < PENDING_REFRESH_MS) {
+            return;
+        }
+        lastPendingRefreshMillis = now;
+        pendingCount.set(outboxRepository.countByStatus(EmailStatus.PENDING));
+    }
+
+    // Sent mail carries OTPs, so it isn't kept around; checked at most hourly
+    private void purgeOld() {
+        long now = System.currentTimeMillis();
+        if (now - lastPurgeMillis < PURGE_INTERVAL_MS) {
+            return;
+        }
+        lastPurgeMillis = now;
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            outboxRepository.deleteByStatusCreatedBefore(EmailStatus.SENT, cutoff);
+            outboxRepository.deleteByStatusCreatedBefore(EmailStatus.FAILED, cutoff);
+        });
+    }
+}
@@ -1,49 +1,51 @@
 package com.foodkeeper.service;
 
+import com.foodkeeper.model.EmailOutbox;
+import com.foodkeeper.repository.EmailOutboxRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+// Emails are queued in email_outbox within the caller's transaction and
+// delivered asynchronously by EmailOutboxDispatcher
 @Service
 public class EmailService {
 
     @Autowired
-    private JavaMailSender emailSender;
+    private EmailOutboxRepository outboxRepository;
 
-    @Value("${spring.mail.username}")
-    private String fromEmail;
+    @Autowired
+    private EmailOutboxDispatcher dispatcher;
+
+    // Same setting OtpService issues codes with
+    @Value("${app.otp.expirationMinutes:10}")
+    private int otpExpirationMinutes;
 
+    @Transactional
     public void sendOtpEmail(String toEmail, String otp, String purpose) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setFrom(fromEmail);
-        message.setTo(toEmail);
-        message.setSubject("Food Keeper - " + purpose + " OTP");
-        message.setText(buildOtpEmailBody(otp, purpose));
-        
-        emailSender.send(message);
+        enqueue(toEmail, "Food Keeper - " + purpose + " OTP", buildOtpEmailBody(otp, purpose));
     }
 
+    @Transactional
     public void sendWelcomeEmail(String toEmail, String firstName) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setFrom(fromEmail);
-        message.setTo(toEmail);
-        message.setSubject("Welcome to Food Keeper!");
-        message.setText(buildWelcomeEmailBody(firstName));
-        
-        emailSender.send(message);
+        enqueue(toEmail, "Welcome to Food Keeper!", buildWelcomeEmailBody(firstName));
+    }
+
+    private void enqueue(String toEmail, String subject, String body) {
+        outboxRepository.save(new EmailOutbox(toEmail, subject, body));
+        dispatcher.wakeUpAfterCommit();
     }
 
     private String buildOtpEmailBody(String otp, String purpose) {
         return String.format(
             "Hello,\n\n" +
             "Your OTP for %s is: %s\n\n" +
-            "This OTP will expire in 10 minutes.\n" +
+            "This OTP will expire in %d minutes.\n" +
             "If you didn't request this, please ignore this email.\n\n" +
             "Best regards,\n" +
             "Food Keeper Team",
-            purpose, otp
+            purpose, otp, otpExpirationMinutes
         );
     }
 
@@ -0,0 +1,50 @@
+package com.foodkeeper.service;
+
+import com.foodkeeper.dto.FoodItemView;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes food items in the CSV export layout, which is also the layout
+ * {@link FoodItemImportService} reads back.
+ */
+public final class FoodItemCsvWriter {
+
+    static final DateTimeFormatter CSV_DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final CSVFormat CSV_FORMAT = CSVFormat.DEFAULT.builder()
+            .setHeader("ID", "Name", "Description", "Calories", "Quantity", "Created Date", "Consumed Date")
+            .build();
+
+    private FoodItemCsvWriter() {}
+
+    public static void write(Stream<FoodItemView> items, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        CSVPrinter csvPrinter = new CSVPrinter(writer, CSV_FORMAT);
+        Iterator<FoodItemView> iterator = items.iterator();
+        while (iterator.hasNext()) {
+            FoodItemView item = iterator.next();
+            csvPrinter.printRecord(
+                item.id(),
+                item.name(),
+                item.description() != null ? item.description() : "",
+                item.calorie() != null ? item.calorie() : "",
+                item.quantity() != null ? item.quantity() : "",
+                item.createdAt() != null ? item.createdAt().format(CSV_DATE_FORMATTER) : "",
+                item.consumedDate() != null ? item.consumedDate().format(CSV_DATE_FORMATTER) : ""
+            );
+        }
+        // Flush only: the caller owns the stream (for exports, the servlet container)
+        csvPrinter.flush();
+    }
+}
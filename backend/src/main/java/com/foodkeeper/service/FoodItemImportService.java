@@ -0,0 +1,230 @@
+package com.foodkeeper.service;
+
+import com.foodkeeper.dto.ImportResponse;
+import com.foodkeeper.events.FoodItemEventHub;
+import com.foodkeeper.model.FoodItem;
+import com.foodkeeper.model.User;
+import com.foodkeeper.search.FoodItemSearchIndex;
+import com.foodkeeper.search.FoodSuggestionIndex;
+import com.foodkeeper.security.CurrentUserResolver;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Bulk import of food items from CSV in the layout produced by the export.
+ * The upload is parsed as a stream and persisted in chunked transactions so
+ * Hibernate can send JDBC batches; only one chunk is ever held in memory.
+ */
+@Service
+public class FoodItemImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FoodItemImportService.class);
+
+    private static final CSVFormat CSV_FORMAT = CSVFormat.DEFAULT.builder()
+            .setHeader()
+            .setSkipHeaderRecord(true)
+            .setIgnoreEmptyLines(true)
+            .setTrim(true)
+            .build();
+
+    @Autowired
+    private CurrentUserResolver currentUserResolver;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private FoodItemSearchIndex searchIndex;
+
+    @Autowired
+    private FoodSuggestionIndex suggestionIndex;
+
+    @Autowired
+    private NutritionRollupService rollupService;
+
+    @Autowired
+    private UserDataVersions dataVersions;
+
+    @Autowired
+    private FoodItemEventHub eventHub;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    @Value("${app.import.chunkSize:5000}")
+    private int chunkSize;
+
+    @Value("${app.import.maxReportedErrors:1000}")
+    private int maxReportedErrors;
+
+    public ImportResponse importFoodItemsFromCSV(InputStream input) throws IOException {
+        Long userId = currentUserResolver.getUserId();
+        ImportResponse result = new ImportResponse();
+        long startNanos = System.nanoTime();
+
+        List<FoodItem> chunk = new ArrayList<>(chunkSize);
+        long chunkFirstRow = 1;
+        long row = 0;
+
+        try (Reader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+             CSVParser parser = CSV_FORMAT.parse(reader)) {
+            for (CSVRecord record : parser) {
+                row++;
+                try {
+                    FoodItem item = toFoodItem(record);
+                    Set<ConstraintViolation<FoodItem>> violations = validator.validate(item);
+                    if (!violations.isEmpty()) {
+                        addError(result, row, violations.iterator().next().getMessage());
+                        continue;
+                    }
+                    if (chunk.isEmpty()) {
+                        chunkFirstRow = row;
+                    }
+                    chunk.add(item);
+                } catch (IllegalArgumentException | DateTimeParseException e) {
+                    addError(result, row, e.getMessage());
+                    continue;
+                }
+
+                if (chunk.size() >= chunkSize) {
+                    persistChunk(userId, chunk, chunkFirstRow, row, result);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            persistChunk(userId, chunk, chunkFirstRow, row, result);
+        }
+
+        if (result.getImportedRows() > 0) {
+            eventHub.publishReload(userId);
+        }
+
+        long elapsedNanos = System.nanoTime() - startNanos;
+        result.setElapsedMs(elapsedNanos / 1_000_000);
+        result.setRowsPerSecond(elapsedNanos > 0 ? result.getImportedRows() * 1_000_000_000.0 / elapsedNanos : 0);
+        logger.info("Imported {} food items for user {} ({} rejected) in {} ms",
+                result.getImportedRows(), userId, result.getRejectedRows(), result.getElapsedMs());
+        return result;
+    }
+
+    private void persistChunk(Long userId, List<FoodItem> chunk, long firstRow, long lastRow, ImportResponse result) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        try {
+            tx.executeWithoutResult(status -> {
+                User owner = entityManager.getReference(User.class, userId);
+                NutritionRollupService.Delta rollup = new NutritionRollupService.Delta();
+                for (int i = 0; i < chunk.size(); i++) {
+                    FoodItem item = chunk.get(i);
+                    item.setUser(owner);
+                    entityManager.persist(item);
+                    rollup.add(item);
+                    if ((i + 1) % batchSize == 0) {
+                        entityManager.flush();
+                        entityManager.clear();
+                        owner = entityManager.getReference(User.class, userId);
+                    }
+                }
+                entityManager.flush();
+                entityManager.clear();
+                rollupService.apply(userId, rollup);
+                dataVersions.bump(userId);
+            });
+            result.setImportedRows(result.getImportedRows() + chunk.size());
+            searchIndex.invalidate(userId);
+            suggestionIndex.invalidate(userId);
+        } catch (DataAccessException | PersistenceException | TransactionException e) {
+            // flush() on the shared EntityManager throws untranslated PersistenceExceptions,
+            // and a failed commit surfaces as a TransactionException; the chunk is rolled back either way
+            logger.error("Import chunk for rows {}-{} failed: {}", firstRow, lastRow, e.getMessage());
+            result.setRejectedRows(result.getRejectedRows() + chunk.size());
+            reportError(result, firstRow, "Rows " + firstRow + "-" + lastRow + " not imported: "
+                    + NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+        }
+    }
+
+    private FoodItem toFoodItem(CSVRecord record) {
+        FoodItem item = new FoodItem();
+        item.setName(column(record, "Name"));
+        item.setDescription(column(record, "Description"));
+        item.setQuantity(column(record, "Quantity"));
+
+        String calories = column(record, "Calories");
+        if (calories != null) {
+            try {
+                int calorie = Integer.parseInt(calories);
+                item.setCalorie(calorie != 0 ? calorie : null);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid calories value: " + calories);
+            }
+        }
+
+        String createdDate = column(record, "Created Date");
+        item.setCreatedAt(createdDate != null
+                ? LocalDateTime.parse(createdDate, FoodItemCsvWriter.CSV_DATE_FORMATTER)
+                : LocalDateTime.now());
+
+        String consumedDate = column(record, "Consumed Date");
+        if (consumedDate != null) {
+            item.setConsumedDate(LocalDateTime.parse(consumedDate, FoodItemCsvWriter.CSV_DATE_FORMATTER));
+        }
+        return item;
+    }
+
+    // Returns the trimmed value, or null when the column is missing or blank
+    private String column(CSVRecord record, String name) {
+        if (!record.isMapped(name) || !record.isSet(name)) {
+            return null;
+        }
+        String value = record.get(name);
+        return value.isEmpty() ? null : value;
+    }
+
+    private void addError(ImportResponse result, long row, String message) {
+        result.setRejectedRows(result.getRejectedRows() + 1);
+        reportError(result, row, message);
+    }
+
+    // The error list is capped so a bad file can't blow up the response
+    private void reportError(ImportResponse result, long row, String message) {
+        if (result.getErrors().size() < maxReportedErrors) {
+            result.getErrors().add(new ImportResponse.RowError(row, message));
+        } else {
+            result.setErrorsTruncated(true);
+        }
+    }
+}
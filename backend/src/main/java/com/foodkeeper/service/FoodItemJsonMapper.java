@@ -0,0 +1,96 @@
+package com.foodkeeper.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.foodkeeper.model.FoodItem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Maps the loosely-typed JSON the frontend sends onto {@link FoodItem}.
+ * Shared by the single-item endpoints and the batch API so both treat
+ * blank fields and date formats the same way.
+ */
+public final class FoodItemJsonMapper {
+
+    private static final Logger logger = LoggerFactory.getLogger(FoodItemJsonMapper.class);
+
+    private FoodItemJsonMapper() {}
+
+    // Build a new item; blank or non-positive values are left unset
+    public static FoodItem fromJson(JsonNode requestBody) {
+        FoodItem foodItem = new FoodItem();
+        foodItem.setName(requestBody.get("name").asText());
+        
+        if (requestBody.has("description") && !requestBody.get("description").isNull()) {
+            String description = requestBody.get("description").asText();
+            if (!description.trim().isEmpty()) {
+                foodItem.setDescription(description);
+            }
+        }
+        
+        if (requestBody.has("consumedDate") && !requestBody.get("consumedDate").isNull()) {
+            String dateTimeStr = requestBody.get("consumedDate").asText();
+            if (!dateTimeStr.trim().isEmpty()) {
+                foodItem.setConsumedDate(parseDateTime(dateTimeStr));
+            }
+        }
+        
+        if (requestBody.has("calorie") && !requestBody.get("calorie").isNull()) {
+            int calorie = requestBody.get("calorie").asInt();
+            if (calorie > 0) {
+                foodItem.setCalorie(calorie);
+            }
+        }
+        
+        if (requestBody.has("quantity") && !requestBody.get("quantity").isNull()) {
+            String quantity = requestBody.get("quantity").asText();
+            if (!quantity.trim().isEmpty()) {
+                foodItem.setQuantity(quantity);
+            }
+        }
+        return foodItem;
+    }
+
+    // Apply an update; fields present but blank clear the stored value
+    public static void applyUpdate(FoodItem existingItem, JsonNode requestBody) {
+        existingItem.setName(requestBody.get("name").asText());
+        
+        if (requestBody.has("description") && !requestBody.get("description").isNull()) {
+            String description = requestBody.get("description").asText();
+            existingItem.setDescription(description.trim().isEmpty() ? null : description);
+        }
+        
+        if (requestBody.has("consumedDate") && !requestBody.get("consumedDate").isNull()) {
+            String dateTimeStr = requestBody.get("consumedDate").asText();
+            existingItem.setConsumedDate(dateTimeStr.trim().isEmpty() ? null : parseDateTime(dateTimeStr));
+        }
+        
+        if (requestBody.has("calorie") && !requestBody.get("calorie").isNull()) {
+            int calorie = requestBody.get("calorie").asInt();
+            existingItem.setCalorie(calorie > 0 ? calorie : null);
+        }
+        
+        if (requestBody.has("quantity") && !requestBody.get("quantity").isNull()) {
+            String quantity = requestBody.get("quantity").asText();
+            existingItem.setQuantity(quantity.trim().isEmpty() ? null : quantity);
+        }
+    }
+
+    // Accepts datetime-local ("YYYY-MM-DDTHH:MM") or a plain date; unparseable values become null
+    public static LocalDateTime parseDateTime(String dateTimeStr) {
+        try {
+            return LocalDateTime.parse(dateTimeStr);
+        } catch (Exception e) {
+            // Fallback: try to parse as date only and set to start of day
+            try {
+                return LocalDate.parse(dateTimeStr).atStartOfDay();
+            } catch (Exception ex) {
+                logger.warn("Error parsing datetime: {}, error: {}", dateTimeStr, ex.getMessage());
+                return null;
+            }
+        }
+    }
+}
@@ -1,26 +1,54 @@
 package com.foodkeeper.service;
 
+import com.foodkeeper.dto.BatchRequest;
+import com.foodkeeper.dto.BatchResponse;
+import com.foodkeeper.dto.PageCursor;
+import com.foodkeeper.dto.PageResponse;
+import com.foodkeeper.events.FoodItemEventHub;
 import com.foodkeeper.model.FoodItem;
-import com.foodkeeper.model.User;
 import com.foodkeeper.repository.FoodItemRepository;
+import com.foodkeeper.repository.FoodItemRollupRow;
 import com.foodkeeper.repository.UserRepository;
-import org.apache.commons.csv.CSVFormat;
-import org.apache.commons.csv.CSVPrinter;
+import com.foodkeeper.dto.FoodItemView;
+import com.foodkeeper.dto.FoodStats;
+import com.foodkeeper.dto.FoodSuggestion;
+import com.foodkeeper.search.FoodItemSearchIndex;
+import com.foodkeeper.search.FoodSuggestionIndex;
+import com.foodkeeper.security.CurrentUserResolver;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.io.StringWriter;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 @Service
 public class FoodItemService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FoodItemService.class);
     
     @Autowired
     private FoodItemRepository foodItemRepository;
@@ -28,181 +56,510 @@ public class FoodItemService {
     @Autowired
     private UserRepository userRepository;
     
-    private static final DateTimeFormatter CSV_DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    @Autowired
+    private CurrentUserResolver currentUserResolver;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private Validator validator;
+    
+    @Autowired
+    private FoodItemSearchIndex searchIndex;
+    
+    @Autowired
+    private FoodSuggestionIndex suggestionIndex;
+    
+    @Autowired
+    private NutritionRollupService rollupService;
+    
+    @Autowired
+    private UserDataVersions dataVersions;
+    
+    @Autowired
+    private FoodItemSyncService syncService;
+    
+    @Autowired
+    private FoodItemEventHub eventHub;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Value("${app.pagination.defaultLimit:50}")
+    private int defaultPageLimit;
+    
+    @Value("${app.pagination.maxLimit:200}")
+    private int maxPageLimit;
+    
+    @Value("${app.suggest.defaultLimit:10}")
+    private int defaultSuggestLimit;
+    
+    @Value("${app.suggest.maxLimit:50}")
+    private int maxSuggestLimit;
+    
+    @Value("${app.batch.maxOperations:500}")
+    private int maxBatchOperations;
+    
+    private static final String BATCH_OK = "ok";
+    private static final String BATCH_NOT_FOUND = "not_found";
+    private static final String BATCH_INVALID = "invalid";
     
-    private User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String email = authentication.getName();
-        return userRepository.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    private Long getCurrentUserId() {
+        return currentUserResolver.getUserId();
     }
     
-    // Get all food items for current user ordered by creation date
-    public List<FoodItem> getAllFoodItems() {
-        User currentUser = getCurrentUser();
-        return foodItemRepository.findByUserOrderByCreatedAtDesc(currentUser);
+    private int resolveLimit(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return defaultPageLimit;
+        }
+        return Math.min(limit, maxPageLimit);
+    }
+    
+    // Rows are fetched with one extra element so we know whether another page exists
+    private PageResponse<FoodItemView> toPage(List<FoodItemView> rows, int limit, Function<FoodItemView, LocalDateTime> sortKey) {
+        if (rows.size() <= limit) {
+            return new PageResponse<>(rows, null, limit);
+        }
+        List<FoodItemView> items = rows.subList(0, limit);
+        FoodItemView last = items.get(limit - 1);
+        String nextCursor = new PageCursor(sortKey.apply(last), last.id()).encode();
+        return new PageResponse<>(items, nextCursor, limit);
+    }
+    
+    // Get a page of food items for current user ordered by creation date
+    @Transactional(readOnly = true)
+    public PageResponse<FoodItemView> getAllFoodItems(String cursor, Integer limit) {
+        Long userId = getCurrentUserId();
+        int pageLimit = resolveLimit(limit);
+        PageRequest page = PageRequest.ofSize(pageLimit + 1);
+        List<FoodItemView> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = foodItemRepository.findPageByUser(userId, page);
+        } else {
+            PageCursor after = PageCursor.decode(cursor);
+            rows = foodItemRepository.findPageByUserAfter(userId, after.getTimestamp(), after.getId(), page);
+        }
+        return toPage(rows, pageLimit, FoodItemView::createdAt);
     }
     
     // Get food item by ID for current user
-    public Optional<FoodItem> getFoodItemById(Long id) {
-        User currentUser = getCurrentUser();
-        return foodItemRepository.findByIdAndUser(id, currentUser);
+    @Transactional(readOnly = true)
+    public Optional<FoodItemView> getFoodItemById(Long id) {
+        Long userId = getCurrentUserId();
+        return foodItemRepository.findViewByIdAndUserId(id, userId);
     }
     
     // Save a new food item for current user
     @Transactional
     public FoodItem saveFoodItem(FoodItem foodItem) {
-        User currentUser = getCurrentUser();
-        foodItem.setUser(currentUser);
+        Long userId = getCurrentUserId();
+        // Reference proxy: sets user_id without loading the user row
+        foodItem.setUser(userRepository.getReferenceById(userId));
         
         if (foodItem.getCreatedAt() == null) {
             foodItem.setCreatedAt(LocalDateTime.now());
         }
-        System.out.println("About to save food item: " + foodItem + " for user: " + currentUser.getEmail());
         FoodItem saved = foodItemRepository.saveAndFlush(foodItem);
-        System.out.println("Successfully saved food item with ID: " + saved.getId());
+        rollupService.apply(userId, new NutritionRollupService.Delta().add(saved));
+        dataVersions.bump(userId);
+        eventHub.publishSaved(userId, true, List.of(saved));
+        searchIndex.onSaved(userId, saved);
+        suggestionIndex.onSaved(userId, saved);
+        logger.debug("Saved food item {} for user {}", saved.getId(), userId);
         return saved;
     }
     
     // Update an existing food item for current user
+    @Transactional
     public FoodItem updateFoodItem(Long id, com.fasterxml.jackson.databind.JsonNode requestBody) {
-        User currentUser = getCurrentUser();
-        return foodItemRepository.findByIdAndUser(id, currentUser)
+        Long userId = getCurrentUserId();
+        return foodItemRepository.findByIdAndUserId(id, userId)
                 .map(existingItem -> {
-                    existingItem.setName(requestBody.get("name").asText());
-                    
-                    if (requestBody.has("description") && !requestBody.get("description").isNull()) {
-                        String description = requestBody.get("description").asText();
-                        existingItem.setDescription(description.trim().isEmpty() ? null : description);
-                    }
-                    
-                    if (requestBody.has("consumedDate") && !requestBody.get("consumedDate").isNull()) {
-                        String dateTimeStr = requestBody.get("consumedDate").asText();
-                        if (!dateTimeStr.trim().isEmpty()) {
-                            try {
-                                // Handle datetime-local format: "YYYY-MM-DDTHH:MM"
-                                LocalDateTime dateTime = LocalDateTime.parse(dateTimeStr);
-                                existingItem.setConsumedDate(dateTime);
-                            } catch (Exception e) {
-                                // Fallback: try to parse as date only and set to start of day
-                                try {
-                                    java.time.LocalDate date = java.time.LocalDate.parse(dateTimeStr);
-                                    existingItem.setConsumedDate(date.atStartOfDay());
-                                } catch (Exception ex) {
-                                    System.err.println("Error parsing datetime: " + dateTimeStr + ", error: " + ex.getMessage());
-                                    existingItem.setConsumedDate(null);
-                                }
-                            }
-                        } else {
-                            existingItem.setConsumedDate(null);
-                        }
-                    }
-                    
-                    if (requestBody.has("calorie") && !requestBody.get("calorie").isNull()) {
-                        int calorie = requestBody.get("calorie").asInt();
-                        existingItem.setCalorie(calorie > 0 ? calorie : null);
-                    }
-                    
-                    if (requestBody.has("quantity") && !requestBody.get("quantity").isNull()) {
-                        String quantity = requestBody.get("quantity").asText();
-                        existingItem.setQuantity(quantity.trim().isEmpty() ? null : quantity);
-                    }
-                    
-                    return foodItemRepository.save(existingItem);
+                    NutritionRollupService.Delta delta = new NutritionRollupService.Delta().remove(existingItem);
+                    FoodItemJsonMapper.applyUpdate(existingItem, requestBody);
+                    // Flush so @PreUpdate stamps updatedAt before the index and event snapshot it
+                    FoodItem saved = foodItemRepository.saveAndFlush(existingItem);
+                    rollupService.apply(userId, delta.add(saved));
+                    dataVersions.bump(userId);
+                    eventHub.publishSaved(userId, false, List.of(saved));
+                    searchIndex.onSaved(userId, saved);
+                    suggestionIndex.invalidate(userId);
+                    return saved;
                 })
                 .orElseThrow(() -> new RuntimeException("Food item not found with id: " + id));
     }
     
     // Delete a food item for current user
+    @Transactional
     public void deleteFoodItem(Long id) {
-        User currentUser = getCurrentUser();
-        Optional<FoodItem> foodItem = foodItemRepository.findByIdAndUser(id, currentUser);
+        Long userId = getCurrentUserId();
+        Optional<FoodItem> foodItem = foodItemRepository.findByIdAndUserId(id, userId);
         
         if (foodItem.isPresent()) {
             foodItemRepository.delete(foodItem.get());
+            rollupService.apply(userId, new NutritionRollupService.Delta().remove(foodItem.get()));
+            syncService.recordDeleted(userId, List.of(id));
+            eventHub.publishDeleted(userId, List.of(id));
+            dataVersions.bump(userId);
+            searchIndex.onDeleted(userId, List.of(id));
+            suggestionIndex.invalidate(userId);
         } else {
             throw new RuntimeException("Food item not found or access denied with id: " + id);
         }
     }
     
-    // Search food items by name for current user
-    public List<FoodItem> searchFoodItemsByName(String name) {
-        User currentUser = getCurrentUser();
-        return foodItemRepository.findByUserAndNameContainingIgnoreCaseOrderByCreatedAtDesc(currentUser, name);
+    // Apply a list of create/update/delete/consume operations in one transaction.
+    // Creates and updates go through the persistence context so Hibernate batches them;
+    // consumes and deletes are single set-based statements scoped to the current user.
+    // Invalid or missing targets are reported per operation without failing the batch.
+    // Operations run grouped by type (creates, updates, consumes, deletes), not in request
+    // order, so a batch that targets the same item more than once is rejected outright.
+    @Transactional
+    public BatchResponse applyBatch(List<BatchRequest.Operation> operations) {
+        if (operations == null || operations.isEmpty()) {
+            throw new IllegalArgumentException("No operations supplied");
+        }
+        if (operations.size() > maxBatchOperations) {
+            throw new IllegalArgumentException("Too many operations (max " + maxBatchOperations + ")");
+        }
+        
+        Long userId = getCurrentUserId();
+        NutritionRollupService.Delta rollup = new NutritionRollupService.Delta();
+        BatchResponse.OperationResult[] results = new BatchResponse.OperationResult[operations.size()];
+        List<Integer> creates = new ArrayList<>();
+        List<Integer> updates = new ArrayList<>();
+        List<Integer> consumes = new ArrayList<>();
+        List<Integer> deletes = new ArrayList<>();
+        Set<Long> targetedIds = new HashSet<>();
+        
+        for (int i = 0; i < operations.size(); i++) {
+            BatchRequest.Operation operation = operations.get(i);
+            String op = operation.getOp() == null ? "" : operation.getOp().toLowerCase();
+            boolean hasId = operation.getId() != null;
+            boolean hasItem = operation.getItem() != null && operation.getItem().isObject();
+            if (op.equals("create") && hasItem) {
+                creates.add(i);
+                continue;
+            } else if (op.equals("update") && hasId && hasItem) {
+                updates.add(i);
+            } else if (op.equals("consume") && hasId) {
+                consumes.add(i);
+            } else if (op.equals("delete") && hasId) {
+                deletes.add(i);
+            } else {
+                results[i] = batchResult(i, operation, operation.getId(), BATCH_INVALID, "Unknown or incomplete operation");
+                continue;
+            }
+            if (!targetedIds.add(operation.getId())) {
+                throw new IllegalArgumentException("Item " + operation.getId() + " is targeted by more than one operation");
+            }
+        }
+        
+        // Creates: persisted together, flushed as one JDBC batch (sent as a multi-row
+        // INSERT only by MySQL Connector/J with rewriteBatchedStatements=true)
+        List<FoodItem> created = new ArrayList<>();
+        List<Integer> createdIndexes = new ArrayList<>();
+        for (int i : creates) {
+            BatchRequest.Operation operation = operations.get(i);
+            try {
+                FoodItem item = FoodItemJsonMapper.fromJson(operation.getItem());
+                String violation = firstViolation(item);
+                if (violation != null) {
+                    results[i] = batchResult(i, operation, null, BATCH_INVALID, violation);
+                    continue;
+                }
+                item.setUser(userRepository.getReferenceById(userId));
+                created.add(item);
+                createdIndexes.add(i);
+            } catch (RuntimeException e) {
+                results[i] = batchResult(i, operation, null, BATCH_INVALID, "Invalid item: " + e.getMessage());
+            }
+        }
+        foodItemRepository.saveAll(created);
+        created.forEach(rollup::add);
+        searchIndex.onSaved(userId, created);
+        eventHub.publishSaved(userId, true, created);
+        suggestionIndex.onSaved(userId, created);
+        for (int j = 0; j < created.size(); j++) {
+            int i = createdIndexes.get(j);
+            results[i] = batchResult(i, operations.get(i), created.get(j).getId(), BATCH_OK, null);
+            results[i].setItem(created.get(j));
+        }
+        
+        // Updates: one SELECT ... WHERE id IN (...) AND user_id = ?, then dirty-checked batch UPDATEs
+        List<FoodItem> updated = new ArrayList<>();
+        if (!updates.isEmpty()) {
+            Set<Long> updateIds = new HashSet<>();
+            for (int i : updates) {
+                updateIds.add(operations.get(i).getId());
+            }
+            Map<Long, FoodItem> owned = new HashMap<>();
+            Map<Long, FoodItemRollupRow> original = new HashMap<>();
+            for (FoodItem item : foodItemRepository.findAllByUserIdAndIdIn(userId, updateIds)) {
+                owned.put(item.getId(), item);
+                original.put(item.getId(), new FoodItemRollupRow(item.getId(), item.getCreatedAt(),
+                        item.getConsumedDate(), item.getCalorie()));
+            }
+            for (int i : updates) {
+                BatchRequest.Operation operation = operations.get(i);
+                FoodItem existing = owned.get(operation.getId());
+                if (existing == null) {
+                    results[i] = batchResult(i, operation, operation.getId(), BATCH_NOT_FOUND, null);
+                    continue;
+                }
+                String violation;
+                try {
+                    FoodItemJsonMapper.applyUpdate(existing, operation.getItem());
+                    violation = firstViolation(existing);
+                } catch (RuntimeException e) {
+                    violation = "Invalid item: " + e.getMessage();
+                }
+                if (violation != null) {
+                    // Drop the half-applied changes so they are never flushed
+                    entityManager.detach(existing);
+                    owned.remove(existing.getId());
+                    results[i] = batchResult(i, operation, operation.getId(), BATCH_INVALID, violation);
+                    continue;
+                }
+                results[i] = batchResult(i, operation, existing.getId(), BATCH_OK, null);
+                results[i].setItem(existing);
+            }
+            updated.addAll(owned.values());
+            // One flush for the batch UPDATEs, so @PreUpdate has stamped updatedAt before
+            // the index and the event snapshot the items
+            if (!updated.isEmpty()) {
+                entityManager.flush();
+            }
+            for (FoodItem item : updated) {
+                rollup.remove(original.get(item.getId())).add(item);
+            }
+            searchIndex.onSaved(userId, updated);
+            eventHub.publishSaved(userId, false, updated);
+            suggestionIndex.invalidate(userId);
+        }
+        
+        // Consumes and deletes: check ownership once, then set-based statements
+        if (!consumes.isEmpty() || !deletes.isEmpty()) {
+            Set<Long> targetIds = new HashSet<>();
+            for (int i : consumes) {
+                targetIds.add(operations.get(i).getId());
+            }
+            for (int i : deletes) {
+                targetIds.add(operations.get(i).getId());
+            }
+            // Current state of each target, for the rollup deltas
+            Map<Long, FoodItemRollupRow> current = new HashMap<>();
+            for (FoodItemRollupRow row : foodItemRepository.findRollupRowsByUserIdAndIdIn(userId, targetIds)) {
+                current.put(row.id(), row);
+            }
+            Set<Long> existingIds = current.keySet();
+            
+            Map<LocalDateTime, Set<Long>> consumeGroups = new HashMap<>();
+            LocalDateTime now = LocalDateTime.now();
+            for (int i : consumes) {
+                BatchRequest.Operation operation = operations.get(i);
+                if (!existingIds.contains(operation.getId())) {
+                    results[i] = batchResult(i, operation, operation.getId(), BATCH_NOT_FOUND, null);
+                    continue;
+                }
+                LocalDateTime consumedDate = now;
+                if (operation.getConsumedDate() != null && !operation.getConsumedDate().isBlank()) {
+                    consumedDate = FoodItemJsonMapper.parseDateTime(operation.getConsumedDate());
+                    if (consumedDate == null) {
+                        results[i] = batchResult(i, operation, operation.getId(), BATCH_INVALID, "Invalid consumedDate");
+                        continue;
+                    }
+                }
+                consumeGroups.computeIfAbsent(consumedDate, d -> new HashSet<>()).add(operation.getId());
+                results[i] = batchResult(i, operation, operation.getId(), BATCH_OK, null);
+            }
+            for (Map.Entry<LocalDateTime, Set<Long>> group : consumeGroups.entrySet()) {
+                foodItemRepository.markConsumedByUserIdAndIdIn(userId, group.getValue(), group.getKey(), now);
+                for (Long id : group.getValue()) {
+                    FoodItemRollupRow before = current.get(id);
+                    FoodItemRollupRow after = new FoodItemRollupRow(id, before.createdAt(), group.getKey(), before.calorie());
+                    rollup.remove(before).add(after);
+                }
+                searchIndex.onConsumed(userId, group.getValue(), group.getKey(), now);
+                eventHub.publishConsumed(userId, group.getValue(), group.getKey());
+            }
+            
+            Set<Long> deleteIds = new HashSet<>();
+            for (int i : deletes) {
+                BatchRequest.Operation operation = operations.get(i);
+                if (!existingIds.contains(operation.getId())) {
+                    results[i] = batchResult(i, operation, operation.getId(), BATCH_NOT_FOUND, null);
+                    continue;
+                }
+                deleteIds.add(operation.getId());
+                results[i] = batchResult(i, operation, operation.getId(), BATCH_OK, null);
+            }
+            if (!deleteIds.isEmpty()) {
+                foodItemRepository.deleteByUserIdAndIdIn(userId, deleteIds);
+                syncService.recordDeleted(userId, deleteIds);
+                eventHub.publishDeleted(userId, deleteIds);
+                for (Long id : deleteIds) {
+                    rollup.remove(current.get(id));
+                }
+                searchIndex.onDeleted(userId, deleteIds);
+                suggestionIndex.invalidate(userId);
+            }
+        }
+        
+        rollupService.apply(userId, rollup);
+        dataVersions.bump(userId);
+        return new BatchResponse(Arrays.asList(results));
+    }
+    
+    private BatchResponse.OperationResult batchResult(int index, BatchRequest.Operation operation, Long id,
+                                                      String status, String message) {
+        BatchResponse.OperationResult result = new BatchResponse.OperationResult(index, operation.getOp(), id, status);
+        result.setMessage(message);
+        return result;
+    }
+    
+    private String firstViolation(FoodItem item) {
+        Set<ConstraintViolation<FoodItem>> violations = validator.validate(item);
+        return violations.isEmpty() ? null : violations.iterator().next().getMessage();
+    }
+    
+    // Search food items by name or description for current user; served from the
+    // in-memory index when enabled, otherwise a name LIKE query
+    @Transactional(readOnly = true)
+    public PageResponse<FoodItemView> searchFoodItemsByName(String name, String cursor, Integer limit) {
+        Long userId = getCurrentUserId();
+        int pageLimit = resolveLimit(limit);
+        if (searchIndex.isEnabled()) {
+            return searchIndex.search(userId, name, cursor, pageLimit);
+        }
+        PageRequest page = PageRequest.ofSize(pageLimit + 1);
+        List<FoodItemView> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = foodItemRepository.findSearchPageByUser(userId, name, page);
+        } else {
+            PageCursor after = PageCursor.decode(cursor);
+            rows = foodItemRepository.findSearchPageByUserAfter(userId, name, after.getTimestamp(), after.getId(), page);
+        }
+        return toPage(rows, pageLimit, FoodItemView::createdAt);
+    }
+    
+    // Suggest previously logged names for the current user, most logged first
+    public List<FoodSuggestion> suggestFoodNames(String prefix, Integer limit) {
+        Long userId = getCurrentUserId();
+        int suggestLimit = limit == null || limit <= 0 ? defaultSuggestLimit : Math.min(limit, maxSuggestLimit);
+        return suggestionIndex.suggest(userId, prefix == null ? "" : prefix, suggestLimit);
     }
     
     // Get recently added items (last 7 days) for current user
-    public List<FoodItem> getRecentFoodItems() {
-        User currentUser = getCurrentUser();
+    @Transactional(readOnly = true)
+    public PageResponse<FoodItemView> getRecentFoodItems(String cursor, Integer limit) {
+        Long userId = getCurrentUserId();
         LocalDateTime weekAgo = LocalDateTime.now().minusDays(7);
-        return foodItemRepository.findRecentItemsByUser(currentUser, weekAgo);
+        int pageLimit = resolveLimit(limit);
+        PageRequest page = PageRequest.ofSize(pageLimit + 1);
+        List<FoodItemView> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = foodItemRepository.findRecentPageByUser(userId, weekAgo, page);
+        } else {
+            PageCursor after = PageCursor.decode(cursor);
+            rows = foodItemRepository.findRecentPageByUserAfter(userId, weekAgo, after.getTimestamp(), after.getId(), page);
+        }
+        return toPage(rows, pageLimit, FoodItemView::createdAt);
+    }
+    
+    // Get consumed food items for current user, ordered by consumption date
+    @Transactional(readOnly = true)
+    public PageResponse<FoodItemView> getRecentlyConsumedItems(String cursor, Integer limit) {
+        Long userId = getCurrentUserId();
+        int pageLimit = resolveLimit(limit);
+        PageRequest page = PageRequest.ofSize(pageLimit + 1);
+        List<FoodItemView> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = foodItemRepository.findConsumedPageByUser(userId, page);
+        } else {
+            PageCursor after = PageCursor.decode(cursor);
+            rows = foodItemRepository.findConsumedPageByUserAfter(userId, after.getTimestamp(), after.getId(), page);
+        }
+        return toPage(rows, pageLimit, FoodItemView::consumedDate);
+    }
+    
+    // Open the current user's change feed, replaying events after lastEventId when possible
+    public SseEmitter subscribeToChanges(String lastEventId) {
+        return eventHub.subscribe(getCurrentUserId(), lastEventId);
     }
     
-    // Get consumed food items for current user
-    public List<FoodItem> getRecentlyConsumedItems() {
-        User currentUser = getCurrentUser();
-        return foodItemRepository.findConsumedItemsByUser(currentUser);
+    // Version of the current user's food items; changes after every committed mutation
+    public long getDataVersion() {
+        return dataVersions.current(getCurrentUserId());
+    }
+    
+    // Dashboard figures for current user, cached until the user's data changes
+    public FoodStats getStats() {
+        return rollupService.getStats(getCurrentUserId());
     }
     
     // Get total count of food items for current user
     public long getTotalCount() {
-        User currentUser = getCurrentUser();
-        return foodItemRepository.countTotalItemsByUser(currentUser);
+        Long userId = getCurrentUserId();
+        return rollupService.getTotalCount(userId);
     }
     
     // Get food items within a date range for current user (based on creation date)
-    public List<FoodItem> getFoodItemsByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
-        User currentUser = getCurrentUser();
+    @Transactional(readOnly = true)
+    public List<FoodItemView> getFoodItemsByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
+        Long userId = getCurrentUserId();
         if (startDate != null && endDate != null) {
-            return foodItemRepository.findByUserAndConsumedDateBetween(currentUser, startDate, endDate);
+            return foodItemRepository.findByUserAndConsumedDateBetween(userId, startDate, endDate);
         } else if (startDate != null) {
-            return foodItemRepository.findRecentItemsByUser(currentUser, startDate);
+            return foodItemRepository.findRecentItemsByUser(userId, startDate);
         } else {
-            return foodItemRepository.findByUserOrderByCreatedAtDesc(currentUser);
+            return foodItemRepository.findViewsByUserId(userId);
         }
     }
     
     // Get food items with calories for current user
-    public List<FoodItem> getFoodItemsWithCalories() {
-        User currentUser = getCurrentUser();
-        return foodItemRepository.findItemsWithCaloriesByUser(currentUser);
+    @Transactional(readOnly = true)
+    public List<FoodItemView> getFoodItemsWithCalories() {
+        Long userId = getCurrentUserId();
+        return foodItemRepository.findItemsWithCaloriesByUser(userId);
     }
     
     // Get total calories for current user
     public Long getTotalCalories() {
-        User currentUser = getCurrentUser();
-        return foodItemRepository.getTotalCaloriesByUser(currentUser);
+        Long userId = getCurrentUserId();
+        return rollupService.getTotalCalories(userId);
     }
     
     // Get consumed items count for current user
     public Long getConsumedItemsCount() {
-        User currentUser = getCurrentUser();
-        return foodItemRepository.countConsumedItemsByUser(currentUser);
+        Long userId = getCurrentUserId();
+        return rollupService.getConsumedCount(userId);
     }
     
-    // Export food items to CSV
-    public String exportFoodItemsToCSV(LocalDateTime startDate, LocalDateTime endDate) throws IOException {
-        List<FoodItem> items = getFoodItemsByDateRange(startDate, endDate);
-        
-        StringWriter writer = new StringWriter();
-        CSVFormat csvFormat = CSVFormat.DEFAULT.builder()
-                .setHeader("ID", "Name", "Description", "Calories", "Quantity", "Created Date", "Consumed Date")
-                .build();
+    // Export food items to CSV. The user is resolved on the request thread; rows are
+    // streamed from the database straight to the response as unmanaged views.
+    public StreamingResponseBody exportFoodItemsToCSV(LocalDateTime startDate, LocalDateTime endDate) {
+        Long userId = getCurrentUserId();
+        TransactionTemplate readOnlyTx = new TransactionTemplate(transactionManager);
+        readOnlyTx.setReadOnly(true);
         
-        try (CSVPrinter csvPrinter = new CSVPrinter(writer, csvFormat)) {
-            for (FoodItem item : items) {
-                csvPrinter.printRecord(
-                    item.getId(),
-                    item.getName(),
-                    item.getDescription() != null ? item.getDescription() : "",
-                    item.getCalorie() != null ? item.getCalorie() : "",
-                    item.getQuantity() != null ? item.getQuantity() : "",
-                    item.getCreatedAt() != null ? item.getCreatedAt().format(CSV_DATE_FORMATTER) : "",
-                    item.getConsumedDate() != null ? item.getConsumedDate().format(CSV_DATE_FORMATTER) : ""
-                );
+        return outputStream -> readOnlyTx.executeWithoutResult(status -> {
+            try (Stream<FoodItemView> items = streamFoodItemsByDateRange(userId, startDate, endDate)) {
+                FoodItemCsvWriter.write(items, outputStream);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
             }
+        });
+    }
+    
+    private Stream<FoodItemView> streamFoodItemsByDateRange(Long userId, LocalDateTime startDate, LocalDateTime endDate) {
+        if (startDate != null && endDate != null) {
+            return foodItemRepository.streamByUserAndConsumedDateBetween(userId, startDate, endDate);
+        } else if (startDate != null) {
+            return foodItemRepository.streamRecentItemsByUser(userId, startDate);
+        } else {
+            return foodItemRepository.streamByUserId(userId);
         }
-        
-        return writer.toString();
     }
-} 
\ No newline at end of file
+}
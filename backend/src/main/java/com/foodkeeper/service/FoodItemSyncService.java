@@ -0,0 +1,144 @@
+package com.foodkeeper.service;
+
+import com.foodkeeper.dto.ChangesResponse;
+import com.foodkeeper.dto.FoodItemView;
+import com.foodkeeper.model.FoodItemTombstone;
+import com.foodkeeper.model.SyncDevice;
+import com.foodkeeper.repository.FoodItemRepository;
+import com.foodkeeper.repository.FoodItemTombstoneRepository;
+import com.foodkeeper.repository.SyncDeviceRepository;
+import com.foodkeeper.security.CurrentUserResolver;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Delta sync for multi-device clients. A change token is the server time at which
+ * a sync ran; the next sync returns rows whose updated_at (or tombstone deleted_at)
+ * is later than the token minus a small overlap, which covers transactions that
+ * committed after the token was issued. Clients apply changes idempotently, so
+ * rows repeated by the overlap are harmless.
+ */
+@Service
+public class FoodItemSyncService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FoodItemSyncService.class);
+
+    private static final int MAX_DEVICE_ID_LENGTH = 64;
+
+    @Autowired
+    private FoodItemRepository foodItemRepository;
+
+    @Autowired
+    private FoodItemTombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private SyncDeviceRepository deviceRepository;
+
+    @Autowired
+    private CurrentUserResolver currentUserResolver;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.sync.overlapMs:5000}")
+    private long overlapMs;
+
+    @Value("${app.sync.maxChanges:1000}")
+    private int maxChanges;
+
+    @Value("${app.sync.deviceTtlDays:30}")
+    private long deviceTtlDays;
+
+    // Changes for the current user since the token; without a token the device is
+    // (re)registered and receives a starting token for use after a full list load
+    @Transactional
+    public ChangesResponse getChanges(String since, String deviceId) {
+        Long userId = currentUserResolver.getUserId();
+        // Each device keeps its own sync position; a shared fallback row would let one
+        // device's sync move another's position and force spurious resets
+        if (deviceId == null || deviceId.isBlank()) {
+            throw new IllegalArgumentException("Device id required");
+        }
+        if (deviceId.length() > MAX_DEVICE_ID_LENGTH) {
+            throw new IllegalArgumentException("Device id too long");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Optional<SyncDevice> registered = deviceRepository.findById(new SyncDevice.Key(userId, deviceId));
+        ChangesResponse response;
+        LocalDateTime from;
+        if (since == null || since.isBlank()) {
+            from = now.minusNanos(overlapMs * 1_000_000);
+            response = new ChangesResponse(encodeToken(now), List.of(), List.of());
+        } else {
+            LocalDateTime tokenTime = decodeToken(since);
+            from = tokenTime.minusNanos(overlapMs * 1_000_000);
+            // Tombstones older than the device's acknowledged position may be compacted
+            if (registered.isEmpty() || from.isBefore(registered.get().getSyncFrom())) {
+                return ChangesResponse.reset();
+            }
+            List<FoodItemView> items = foodItemRepository.findChangesSince(userId, from, PageRequest.ofSize(maxChanges + 1));
+            if (items.size() > maxChanges) {
+                return ChangesResponse.reset();
+            }
+            List<Long> deletedIds = tombstoneRepository.findDeletedIdsSince(userId, from);
+            // Tokens never move backwards, even if the clock does
+            LocalDateTime next = now.isAfter(tokenTime) ? now : tokenTime;
+            response = new ChangesResponse(encodeToken(next), items, deletedIds);
+        }
+
+        // Record what the device asked for: it is guaranteed to have seen everything before it
+        SyncDevice syncDevice = registered.orElseGet(() -> new SyncDevice(userId, deviceId));
+        syncDevice.setSyncFrom(from);
+        syncDevice.setLastSeenAt(now);
+        deviceRepository.save(syncDevice);
+        return response;
+    }
+
+    // Must run inside the deleting transaction
+    public void recordDeleted(Long userId, Collection<Long> itemIds) {
+        LocalDateTime now = LocalDateTime.now();
+        for (Long itemId : itemIds) {
+            entityManager.persist(new FoodItemTombstone(itemId, userId, now));
+        }
+    }
+
+    // Forget devices that stopped syncing, then drop tombstones every remaining device is past
+    @Scheduled(fixedRateString = "${app.sync.compactIntervalMs:3600000}")
+    @Transactional
+    public void compactTombstones() {
+        LocalDateTime now = LocalDateTime.now();
+        int devices = deviceRepository.deleteInactive(now.minusDays(deviceTtlDays));
+        int tombstones = tombstoneRepository.deleteCompacted(now.minusNanos(overlapMs * 1_000_000));
+        if (devices > 0 || tombstones > 0) {
+            logger.info("Sync compaction removed {} inactive devices and {} tombstones", devices, tombstones);
+        }
+    }
+
+    private static String encodeToken(LocalDateTime time) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(time.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static LocalDateTime decodeToken(String token) {
+        try {
+            return LocalDateTime.parse(new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid sync token", e);
+        }
+    }
+}
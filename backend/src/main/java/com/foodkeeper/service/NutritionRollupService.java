@@ -0,0 +1,168 @@
+package com.foodkeeper.service;
+
+import com.foodkeeper.dto.FoodStats;
+import com.foodkeeper.model.FoodItem;
+import com.foodkeeper.repository.DailyNutritionSummaryRepository;
+import com.foodkeeper.repository.FoodItemRollupRow;
+import com.foodkeeper.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains daily_nutrition_summary. Callers collect the before/after state of
+ * the items they change into a {@link Delta} and apply it inside their own
+ * transaction, so the rollup commits or rolls back together with food_items.
+ */
+@Service
+public class NutritionRollupService implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(NutritionRollupService.class);
+
+    @Autowired
+    private DailyNutritionSummaryRepository summaryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private UserDataVersions dataVersions;
+
+    @Value("${app.rollup.backfillOnStartup:true}")
+    private boolean backfillOnStartup;
+
+    @Value("${app.stats.cacheSize:10000}")
+    private long statsCacheSize;
+
+    // Stats are reused while the user's data version and the current day are unchanged
+    private Cache<Long, CachedStats> statsCache;
+
+    private record CachedStats(long version, LocalDate day, FoodStats stats) {}
+
+    @PostConstruct
+    void init() {
+        statsCache = Caffeine.newBuilder()
+                .maximumSize(statsCacheSize)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, statsCache, "stats");
+    }
+
+    // Per-day differences in item count, consumed count and calorie sum
+    public static class Delta {
+        private final Map<LocalDate, long[]> days = new HashMap<>();
+
+        public Delta add(FoodItem item) {
+            return add(item.getCreatedAt(), item.getConsumedDate(), item.getCalorie(), 1);
+        }
+
+        public Delta remove(FoodItem item) {
+            return add(item.getCreatedAt(), item.getConsumedDate(), item.getCalorie(), -1);
+        }
+
+        public Delta add(FoodItemRollupRow row) {
+            return add(row.createdAt(), row.consumedDate(), row.calorie(), 1);
+        }
+
+        public Delta remove(FoodItemRollupRow row) {
+            return add(row.createdAt(), row.consumedDate(), row.calorie(), -1);
+        }
+
+        private Delta add(LocalDateTime createdAt, LocalDateTime consumedDate, Integer calorie, int sign) {
+            long[] totals = days.computeIfAbsent(createdAt.toLocalDate(), d -> new long[3]);
+            totals[0] += sign;
+            totals[1] += consumedDate != null ? sign : 0;
+            totals[2] += calorie != null ? (long) sign * calorie : 0;
+            return this;
+        }
+    }
+
+    // Must run inside the caller's transaction
+    public void apply(Long userId, Delta delta) {
+        for (Map.Entry<LocalDate, long[]> day : delta.days.entrySet()) {
+            long[] totals = day.getValue();
+            if (totals[0] != 0 || totals[1] != 0 || totals[2] != 0) {
+                summaryRepository.applyDelta(userId, day.getKey(), totals[0], totals[1], totals[2]);
+            }
+        }
+    }
+
+    public FoodStats getStats(Long userId) {
+        // Read the version before querying: a write that commits in between bumps
+        // it again, so this entry can only ever be stored under an older version
+        long version = dataVersions.current(userId);
+        LocalDate today = LocalDate.now();
+        CachedStats cached = statsCache.getIfPresent(userId);
+        if (cached != null && cached.version() == version && cached.day().equals(today)) {
+            return cached.stats();
+        }
+        FoodStats stats = summaryRepository.getStatsByUser(userId, today, today.minusDays(6));
+        statsCache.put(userId, new CachedStats(version, today, stats));
+        return stats;
+    }
+
+    public long getTotalCount(Long userId) {
+        return summaryRepository.sumItemCountByUser(userId);
+    }
+
+    public long getConsumedCount(Long userId) {
+        return summaryRepository.sumConsumedCountByUser(userId);
+    }
+
+    public long getTotalCalories(Long userId) {
+        return summaryRepository.sumCaloriesByUser(userId);
+    }
+
+    // Recompute one user's rollup from food_items
+    public void rebuildForUser(Long userId) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            summaryRepository.deleteByUserId(userId);
+            summaryRepository.rebuildForUser(userId);
+            dataVersions.bump(userId);
+        });
+    }
+
+    // Backfill every user, one transaction per user
+    public void rebuildAll() {
+        long start = System.currentTimeMillis();
+        List<Long> userIds = userRepository.findAllIds();
+        for (Long userId : userIds) {
+            rebuildForUser(userId);
+        }
+        logger.info("Rebuilt daily nutrition rollups for {} users in {} ms",
+                userIds.size(), System.currentTimeMillis() - start);
+    }
+
+    // First start after the table is introduced: backfill from existing items
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (backfillOnStartup && summaryRepository.count() == 0) {
+            rebuildAll();
+        }
+    }
+}
@@ -1,77 +1,85 @@
 package com.foodkeeper.service;
 
 import com.foodkeeper.model.OtpType;
-import com.foodkeeper.model.OtpVerification;
-import com.foodkeeper.repository.OtpVerificationRepository;
+import com.foodkeeper.otp.OtpStore;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.security.SecureRandom;
-import java.time.LocalDateTime;
-import java.util.Optional;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 
 @Service
-public class OtpService {
+public class OtpService implements MeterBinder {
 
     @Autowired
-    private OtpVerificationRepository otpRepository;
+    private OtpStore otpStore;
+
+    @Value("${app.otp.expirationMinutes:10}")
+    private int otpExpirationMinutes;
 
-    private static final int OTP_EXPIRATION_MINUTES = 10;
     private static final SecureRandom random = new SecureRandom();
 
+    // Per OTP type: codes issued (each one is emailed) and codes rejected on verify
+    private final Map<OtpType, LongAdder> sent = new EnumMap<>(OtpType.class);
+    private final Map<OtpType, LongAdder> rejected = new EnumMap<>(OtpType.class);
+
+    public OtpService() {
+        for (OtpType type : OtpType.values()) {
+            sent.put(type, new LongAdder());
+            rejected.put(type, new LongAdder());
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (OtpType type : OtpType.values()) {
+            FunctionCounter.builder("foodkeeper.otp.sent", sent.get(type), LongAdder::sum)
+                    .description("OTP codes issued and queued for email")
+                    .tag("type", type.name().toLowerCase())
+                    .register(registry);
+            FunctionCounter.builder("foodkeeper.otp.verify.failures", rejected.get(type), LongAdder::sum)
+                    .description("OTP codes rejected as wrong, expired or already used")
+                    .tag("type", type.name().toLowerCase())
+                    .register(registry);
+        }
+    }
+
     public String generateOtp() {
         int otp = 100000 + random.nextInt(900000); // 6-digit OTP
         return String.valueOf(otp);
     }
 
-    @Transactional
+    // Replaces any existing OTP for this email and type
     public String generateAndSaveOtp(String email, OtpType type) {
-        // Delete any existing OTPs for this email and type
-        otpRepository.deleteByEmailAndType(email, type);
-
         String otp = generateOtp();
-        OtpVerification otpVerification = new OtpVerification(email, otp, type, OTP_EXPIRATION_MINUTES);
-        otpRepository.save(otpVerification);
-
+        otpStore.save(email, type, otp, Duration.ofMinutes(otpExpirationMinutes));
+        sent.get(type).increment();
         return otp;
     }
 
-    @Transactional
     public boolean verifyOtp(String email, String otp, OtpType type) {
-        Optional<OtpVerification> otpVerificationOpt = 
-            otpRepository.findByEmailAndOtpAndTypeAndVerifiedFalse(email, otp, type);
-
-        if (otpVerificationOpt.isEmpty()) {
-            return false;
-        }
-
-        OtpVerification otpVerification = otpVerificationOpt.get();
-
-        if (otpVerification.isExpired()) {
-            return false;
+        boolean valid = otpStore.verifyAndConsume(email, type, otp);
+        if (!valid) {
+            rejected.get(type).increment();
         }
-
-        // Mark as verified
-        otpVerification.setVerified(true);
-        otpRepository.save(otpVerification);
-
-        return true;
+        return valid;
     }
 
     public boolean isValidOtp(String email, String otp, OtpType type) {
-        return otpRepository.existsByEmailAndOtpAndTypeAndVerifiedFalse(email, otp, type);
-    }
-
-    public Optional<OtpVerification> getLatestOtp(String email, OtpType type) {
-        return otpRepository.findTopByEmailAndTypeOrderByCreatedAtDesc(email, type);
+        return otpStore.isValid(email, type, otp);
     }
 
-    // Clean up expired OTPs every hour
+    // Clean up expired OTPs every hour (no-op for stores that expire entries themselves)
     @Scheduled(fixedRate = 3600000) // 1 hour in milliseconds
-    @Transactional
     public void cleanupExpiredOtps() {
-        otpRepository.deleteExpiredOtps(LocalDateTime.now());
+        otpStore.purgeExpired();
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,64 @@
+package com.foodkeeper.service;
+
+import com.foodkeeper.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * Per-user data version, bumped by every food item mutation. Anything derived
+ * from a user's items can be cached alongside the version it was computed at
+ * and is stale as soon as the numbers differ. The version lives in
+ * users.data_version; reads go through a small size-bounded cache.
+ */
+@Component
+public class UserDataVersions implements MeterBinder {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final Cache<Long, Long> cache;
+
+    public UserDataVersions(@Value("${app.dataVersions.maxSize:10000}") long maxSize,
+                            @Value("${app.dataVersions.ttlMs:2000}") long ttlMs) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "user.dataVersions");
+    }
+
+    public long current(Long userId) {
+        return cache.get(userId, id -> userRepository.findDataVersion(id).orElse(0L));
+    }
+
+    // Incremented in the mutating transaction and evicted again once it commits,
+    // so a reader that picks up the new version can never compute it from
+    // uncommitted or pre-commit data
+    public void bump(Long userId) {
+        userRepository.incrementDataVersion(userId);
+        cache.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(userId);
+                }
+            });
+        }
+    }
+}
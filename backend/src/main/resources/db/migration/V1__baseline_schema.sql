@@ -0,0 +1,70 @@
+-- Schema as previously generated by Hibernate (ddl-auto=update).
+-- Every statement is idempotent so it also runs cleanly against a database
+-- that was created before migrations were introduced.
+
+CREATE TABLE IF NOT EXISTS users (
+    id                      BIGINT NOT NULL AUTO_INCREMENT,
+    first_name              VARCHAR(50),
+    last_name               VARCHAR(50),
+    email                   VARCHAR(100),
+    password                VARCHAR(120),
+    provider                ENUM('LOCAL','GOOGLE'),
+    provider_id             VARCHAR(255),
+    profile_picture         VARCHAR(255),
+    email_verified          BIT NOT NULL,
+    enabled                 BIT NOT NULL,
+    account_non_expired     BIT NOT NULL,
+    account_non_locked      BIT NOT NULL,
+    credentials_non_expired BIT NOT NULL,
+    role                    ENUM('USER','ADMIN'),
+    created_at              DATETIME(6),
+    updated_at              DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS food_items (
+    id            BIGINT NOT NULL,
+    name          VARCHAR(100) NOT NULL,
+    created_at    DATETIME(6) NOT NULL,
+    consumed_date DATETIME(6),
+    description   VARCHAR(500),
+    calorie       INTEGER,
+    quantity      VARCHAR(50),
+    user_id       BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_food_items_user FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE=InnoDB;
+
+-- Pooled id sequence for food_items (MySQL has no sequences, so Hibernate uses a table)
+CREATE TABLE IF NOT EXISTS food_items_seq (
+    next_val BIGINT
+) ENGINE=InnoDB;
+
+-- food_items used to be keyed by AUTO_INCREMENT. The pooled optimizer hands out
+-- [next_val - 50 + 1, next_val], so the stored value must clear MAX(id) by a full block.
+INSERT INTO food_items_seq (next_val)
+SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM food_items_seq);
+
+UPDATE food_items_seq
+SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 51 FROM food_items));
+
+CREATE TABLE IF NOT EXISTS otp_verification (
+    id         BIGINT NOT NULL AUTO_INCREMENT,
+    email      VARCHAR(255) NOT NULL,
+    otp        VARCHAR(255) NOT NULL,
+    type       ENUM('EMAIL_VERIFICATION','PASSWORD_RESET','LOGIN_VERIFICATION'),
+    created_at DATETIME(6),
+    expires_at DATETIME(6),
+    verified   BIT NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS daily_nutrition_summary (
+    user_id        BIGINT NOT NULL,
+    summary_date   DATE NOT NULL,
+    item_count     BIGINT NOT NULL,
+    consumed_count BIGINT NOT NULL,
+    calorie_sum    BIGINT NOT NULL,
+    PRIMARY KEY (user_id, summary_date)
+) ENGINE=InnoDB;
@@ -0,0 +1,8 @@
+-- Every FoodItemRepository query filters on user_id and then sorts or ranges on
+-- created_at (keyset pages ordered by created_at, id) or consumed_date.
+CREATE INDEX idx_food_items_user_created ON food_items (user_id, created_at, id);
+CREATE INDEX idx_food_items_user_consumed ON food_items (user_id, consumed_date);
+
+-- OTP lookups by (email, type) and the scheduled cleanup of expired codes
+CREATE INDEX idx_otp_email_type ON otp_verification (email, type);
+CREATE INDEX idx_otp_expires_at ON otp_verification (expires_at);
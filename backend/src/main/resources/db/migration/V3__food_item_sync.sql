@@ -0,0 +1,24 @@
+-- Delta sync (/api/food-items/changes): last-modified time per item, tombstones
+-- for deleted items, and the sync position of each client device.
+
+ALTER TABLE food_items ADD COLUMN updated_at DATETIME(6) NULL;
+UPDATE food_items SET updated_at = GREATEST(created_at, COALESCE(consumed_date, created_at));
+ALTER TABLE food_items MODIFY updated_at DATETIME(6) NOT NULL;
+CREATE INDEX idx_food_items_user_updated ON food_items (user_id, updated_at);
+
+CREATE TABLE food_item_tombstones (
+    item_id    BIGINT NOT NULL,
+    user_id    BIGINT NOT NULL,
+    deleted_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (item_id),
+    INDEX idx_tombstones_user_deleted (user_id, deleted_at)
+) ENGINE=InnoDB;
+
+CREATE TABLE sync_devices (
+    user_id      BIGINT NOT NULL,
+    device_id    VARCHAR(64) NOT NULL,
+    sync_from    DATETIME(6) NOT NULL,
+    last_seen_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (user_id, device_id),
+    INDEX idx_sync_devices_last_seen (last_seen_at)
+) ENGINE=InnoDB;
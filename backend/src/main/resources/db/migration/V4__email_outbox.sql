@@ -0,0 +1,16 @@
+-- Transactional outbox for outgoing email, drained by EmailOutboxDispatcher
+CREATE TABLE email_outbox (
+    id              BIGINT NOT NULL AUTO_INCREMENT,
+    recipient       VARCHAR(255) NOT NULL,
+    subject         VARCHAR(255) NOT NULL,
+    body            TEXT NOT NULL,
+    status          ENUM('PENDING','SENT','FAILED') NOT NULL,
+    attempts        INTEGER NOT NULL,
+    next_attempt_at DATETIME(6) NOT NULL,
+    last_error      VARCHAR(500),
+    created_at      DATETIME(6) NOT NULL,
+    sent_at         DATETIME(6),
+    PRIMARY KEY (id),
+    INDEX idx_email_outbox_due (status, next_attempt_at),
+    INDEX idx_email_outbox_created (status, created_at)
+) ENGINE=InnoDB;
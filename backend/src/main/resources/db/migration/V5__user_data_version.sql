@@ -0,0 +1,3 @@
+-- Per-user version behind the food item ETags and the stats cache. Kept in the
+-- database so every instance agrees on it and it survives restarts.
+ALTER TABLE users ADD COLUMN data_version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,73 @@
+package com.foodkeeper.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PageCursorTest {
+
+    private static final LocalDateTime TIMESTAMP = LocalDateTime.of(2024, 3, 1, 12, 30, 15, 123_456_000);
+
+    @Test
+    void roundTripsTimestampAndId() {
+        PageCursor decoded = PageCursor.decode(new PageCursor(TIMESTAMP, 42L).encode());
+
+        assertThat(decoded.getTimestamp()).isEqualTo(TIMESTAMP);
+        assertThat(decoded.getId()).isEqualTo(42L);
+        assertThat(decoded.getRank()).isZero();
+    }
+
+    @Test
+    void roundTripsRank() {
+        PageCursor decoded = PageCursor.decode(new PageCursor(TIMESTAMP, 7L, 3).encode());
+
+        assertThat(decoded.getTimestamp()).isEqualTo(TIMESTAMP);
+        assertThat(decoded.getId()).isEqualTo(7L);
+        assertThat(decoded.getRank()).isEqualTo(3);
+    }
+
+    @Test
+    void encodedFormIsUrlSafe() {
+        String token = new PageCursor(TIMESTAMP, Long.MAX_VALUE, Integer.MAX_VALUE).encode();
+
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void rejectsGarbage() {
+        assertInvalid("not a cursor!");
+        assertInvalid("");
+    }
+
+    @Test
+    void rejectsTamperedPayloads() {
+        assertInvalid(encodeRaw("2024-03-01T12:30:15"));
+        assertInvalid(encodeRaw("2024-03-01T12:30:15|abc"));
+        assertInvalid(encodeRaw("2024-13-01T12:30:15|42"));
+        assertInvalid(encodeRaw("yesterday|42"));
+        assertInvalid(encodeRaw("2024-03-01T12:30:15|42|high"));
+        assertInvalid(encodeRaw("2024-03-01T12:30:15|"));
+    }
+
+    @Test
+    void rejectsTruncatedToken() {
+        String token = new PageCursor(TIMESTAMP, 42L).encode();
+
+        assertInvalid(token.substring(0, token.length() - 5));
+    }
+
+    private static String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void assertInvalid(String token) {
+        assertThatThrownBy(() -> PageCursor.decode(token))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+    }
+}
@@ -0,0 +1,89 @@
+package com.foodkeeper.otp;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HashedTimingWheelTest {
+
+    private static final long TICK = 100;
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+    private final List<String> expired = new ArrayList<>();
+
+    // 4 buckets of 100 ms: one revolution spans 400 ms
+    private final HashedTimingWheel<String> wheel = new HashedTimingWheel<>(TICK, 4, expired::add, clock::get);
+
+    @Test
+    void firesOnDeadlineTickAndNotBefore() {
+        wheel.schedule("a", 250); // rounds up to tick 3
+
+        advance(3);
+        assertThat(expired).isEmpty();
+
+        advance(1);
+        assertThat(expired).containsExactly("a");
+    }
+
+    @Test
+    void waitsOutRemainingRoundsWhenDeadlineExceedsWheelSpan() {
+        wheel.schedule("far", 1_050); // tick 11: bucket 3 after two full rounds
+        wheel.schedule("near", 350);  // tick 4: bucket 0 on the second pass
+
+        advance(4);
+        assertThat(expired).isEmpty();
+
+        advance(1);
+        assertThat(expired).containsExactly("near");
+
+        advance(6);
+        assertThat(expired).containsExactly("near");
+
+        advance(1);
+        assertThat(expired).containsExactly("near", "far");
+    }
+
+    @Test
+    void measuresDelayFromScheduleTime() {
+        advance(5);
+        wheel.schedule("late", 1_000); // 500 ms elapsed + 1000 ms: tick 15
+
+        advance(10);
+        assertThat(expired).isEmpty();
+
+        advance(1);
+        assertThat(expired).containsExactly("late");
+    }
+
+    @Test
+    void deadlineBehindTheWheelFiresOnNextTick() {
+        // A fixed-rate ticker catching up runs ahead of the clock
+        for (int i = 0; i < 5; i++) {
+            wheel.advance();
+        }
+        wheel.schedule("behind", 100); // tick 1, already passed
+
+        wheel.advance();
+        assertThat(expired).containsExactly("behind");
+    }
+
+    @Test
+    void firesEachTimeoutOnce() {
+        wheel.schedule("once", 100);
+
+        advance(20);
+
+        assertThat(expired).containsExactly("once");
+    }
+
+    private void advance(int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            wheel.advance();
+            clock.addAndGet(TICK);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.foodkeeper.otp;
+
+import com.foodkeeper.model.OtpType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryOtpStoreTest {
+
+    private static final String EMAIL = "user@example.com";
+    // One-hour ticks: the store's own ticker thread never fires during a test,
+    // so the tests advance its wheel by hand against the fake clock
+    private static final long TICK = 3_600_000;
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+
+    private InMemoryOtpStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryOtpStore();
+        ReflectionTestUtils.setField(store, "tickMillis", TICK);
+        ReflectionTestUtils.setField(store, "wheelSize", 8);
+        store.clock = clock::get;
+        store.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.shutdown();
+    }
+
+    @Test
+    void codeIsSingleUse() {
+        store.save(EMAIL, OtpType.PASSWORD_RESET, "123456", Duration.ofDays(30));
+
+        assertThat(store.isValid(EMAIL, OtpType.PASSWORD_RESET, "123456")).isTrue();
+        assertThat(store.verifyAndConsume(EMAIL, OtpType.PASSWORD_RESET, "123456")).isTrue();
+        assertThat(store.verifyAndConsume(EMAIL, OtpType.PASSWORD_RESET, "123456")).isFalse();
+        assertThat(store.isValid(EMAIL, OtpType.PASSWORD_RESET, "123456")).isFalse();
+    }
+
+    @Test
+    void concurrentAttemptsConsumeCodeOnce() throws Exception {
+        store.save(EMAIL, OtpType.LOGIN_VERIFICATION, "654321", Duration.ofDays(30));
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            Callable<Boolean> attempt = () -> {
+                start.await();
+                return store.verifyAndConsume(EMAIL, OtpType.LOGIN_VERIFICATION, "654321");
+            };
+            var futures = IntStream.range(0, 8).mapToObj(i -> executor.submit(attempt)).toList();
+            start.countDown();
+            long successes = 0;
+            for (Future<Boolean> future : futures) {
+                successes += future.get() ? 1 : 0;
+            }
+            assertThat(successes).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void mismatchesAreRejectedWithoutConsumingTheCode() {
+        store.save(EMAIL, OtpType.EMAIL_VERIFICATION, "123456", Duration.ofDays(30));
+
+        assertThat(store.verifyAndConsume(EMAIL, OtpType.EMAIL_VERIFICATION, "123457")).isFalse();
+        assertThat(store.verifyAndConsume(EMAIL, OtpType.EMAIL_VERIFICATION, "12345")).isFalse();
+        assertThat(store.verifyAndConsume(EMAIL, OtpType.EMAIL_VERIFICATION, "1234567")).isFalse();
+        assertThat(store.verifyAndConsume(EMAIL, OtpType.EMAIL_VERIFICATION, "")).isFalse();
+        assertThat(store.verifyAndConsume(EMAIL, OtpType.EMAIL_VERIFICATION, null)).isFalse();
+        assertThat(store.verifyAndConsume(EMAIL, OtpType.PASSWORD_RESET, "123456")).isFalse();
+        assertThat(store.verifyAndConsume("other@example.com", OtpType.EMAIL_VERIFICATION, "123456")).isFalse();
+
+        assertThat(store.verifyAndConsume(EMAIL, OtpType.EMAIL_VERIFICATION, "123456")).isTrue();
+    }
+
+    @Test
+    void expiredCodeIsRejectedAndRemovedByTheWheel() {
+        store.save(EMAIL, OtpType.EMAIL_VERIFICATION, "123456", Duration.ofHours(3));
+
+        advance(2);
+        assertThat(store.isValid(EMAIL, OtpType.EMAIL_VERIFICATION, "123456")).isTrue();
+
+        // Expiry is enforced on read even before the wheel gets to it
+        clock.addAndGet(TICK);
+        assertThat(store.isValid(EMAIL, OtpType.EMAIL_VERIFICATION, "123456")).isFalse();
+
+        advance(2);
+        assertThat(codes()).isEmpty();
+    }
+
+    @Test
+    void expiresAfterMoreThanOneWheelRevolution() {
+        // 8 one-hour buckets; a 20 h code goes round the wheel twice first
+        store.save(EMAIL, OtpType.EMAIL_VERIFICATION, "123456", Duration.ofHours(20));
+
+        advance(17);
+        assertThat(codes()).hasSize(1);
+        assertThat(store.isValid(EMAIL, OtpType.EMAIL_VERIFICATION, "123456")).isTrue();
+
+        advance(4);
+        assertThat(codes()).isEmpty();
+    }
+
+    @Test
+    void reissuedCodeSurvivesTheOldCodesTimer() {
+        store.save(EMAIL, OtpType.PASSWORD_RESET, "111111", Duration.ofHours(2));
+        advance(1);
+        store.save(EMAIL, OtpType.PASSWORD_RESET, "222222", Duration.ofDays(30));
+
+        // The first code's timeout fires here; it must not remove the second code
+        advance(3);
+
+        assertThat(codes()).hasSize(1);
+        assertThat(store.isValid(EMAIL, OtpType.PASSWORD_RESET, "111111")).isFalse();
+        assertThat(store.verifyAndConsume(EMAIL, OtpType.PASSWORD_RESET, "222222")).isTrue();
+    }
+
+    @Test
+    void codeSavedInATransactionGoesLiveOnlyOnCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            store.save(EMAIL, OtpType.EMAIL_VERIFICATION, "123456", Duration.ofDays(30));
+            assertThat(store.isValid(EMAIL, OtpType.EMAIL_VERIFICATION, "123456")).isFalse();
+
+            TransactionSynchronizationUtils.triggerAfterCommit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(store.isValid(EMAIL, OtpType.EMAIL_VERIFICATION, "123456")).isTrue();
+    }
+
+    @Test
+    void codeSavedInARolledBackTransactionNeverGoesLive() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            store.save(EMAIL, OtpType.EMAIL_VERIFICATION, "123456", Duration.ofDays(30));
+        } finally {
+            // Rollback: the synchronizations are dropped without afterCommit
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(store.isValid(EMAIL, OtpType.EMAIL_VERIFICATION, "123456")).isFalse();
+        assertThat(codes()).isEmpty();
+    }
+
+    private Map<?, ?> codes() {
+        return (Map<?, ?>) ReflectionTestUtils.getField(store, "codes");
+    }
+
+    private void advance(int ticks) {
+        HashedTimingWheel<?> wheel = (HashedTimingWheel<?>) ReflectionTestUtils.getField(store, "wheel");
+        for (int i = 0; i < ticks; i++) {
+            wheel.advance();
+            clock.addAndGet(TICK);
+        }
+    }
+}
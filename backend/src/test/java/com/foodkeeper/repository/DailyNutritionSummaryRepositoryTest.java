@@ -0,0 +1,123 @@
+package com.foodkeeper.repository;
+
+import com.foodkeeper.dto.FoodStats;
+import com.foodkeeper.model.DailyNutritionSummary;
+import com.foodkeeper.model.FoodItem;
+import com.foodkeeper.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class DailyNutritionSummaryRepositoryTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 5, 10);
+    private static final LocalDate WEEK_START = TODAY.minusDays(6);
+
+    private static final long USER = 9_001L;
+    private static final long OTHER_USER = 9_002L;
+
+    @Autowired
+    private DailyNutritionSummaryRepository summaryRepository;
+
+    @Autowired
+    private FoodItemRepository foodItemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void statsSumEveryDayAndWindowTodayAndLastSevenDays() {
+        summaryRepository.applyDelta(USER, TODAY, 2, 1, 300);
+        summaryRepository.applyDelta(USER, WEEK_START, 1, 1, 200);
+        // One day before the window: counted in the totals only
+        summaryRepository.applyDelta(USER, WEEK_START.minusDays(1), 4, 0, 1000);
+        // Tomorrow's rows still fall inside the window
+        summaryRepository.applyDelta(USER, TODAY.plusDays(1), 1, 0, 50);
+        summaryRepository.applyDelta(OTHER_USER, TODAY, 7, 7, 999);
+
+        FoodStats stats = summaryRepository.getStatsByUser(USER, TODAY, WEEK_START);
+
+        assertThat(stats.getTotalItems()).isEqualTo(8);
+        assertThat(stats.getConsumedItems()).isEqualTo(2);
+        assertThat(stats.getTotalCalories()).isEqualTo(1550);
+        assertThat(stats.getCaloriesToday()).isEqualTo(300);
+        assertThat(stats.getCaloriesLast7Days()).isEqualTo(550);
+    }
+
+    @Test
+    void statsForUserWithoutRowsAreZero() {
+        FoodStats stats = summaryRepository.getStatsByUser(USER, TODAY, WEEK_START);
+
+        assertThat(stats.getTotalItems()).isZero();
+        assertThat(stats.getConsumedItems()).isZero();
+        assertThat(stats.getTotalCalories()).isZero();
+        assertThat(stats.getCaloriesToday()).isZero();
+        assertThat(stats.getCaloriesLast7Days()).isZero();
+    }
+
+    @Test
+    void applyDeltaUpsertsOneRowPerDay() {
+        summaryRepository.applyDelta(USER, TODAY, 1, 0, 100);
+        summaryRepository.applyDelta(USER, TODAY, 1, 1, 250);
+        summaryRepository.applyDelta(USER, TODAY, -1, 0, -100);
+
+        List<DailyNutritionSummary> rows = summaryRepository.findByUserAndDateRange(USER, TODAY, TODAY);
+
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0).getItemCount()).isEqualTo(1);
+        assertThat(rows.get(0).getConsumedCount()).isEqualTo(1);
+        assertThat(rows.get(0).getCalorieSum()).isEqualTo(250);
+    }
+
+    @Test
+    void rebuildMatchesTheItemsAndFeedsTheSameStats() {
+        User owner = userRepository.save(new User("Roll", "Up", "rollup-owner@example.com", "x"));
+        save(owner, TODAY, 300, true);
+        save(owner, TODAY, null, false);
+        save(owner, WEEK_START, 200, true);
+        save(owner, WEEK_START.minusDays(3), 1000, false);
+        entityManager.flush();
+
+        summaryRepository.rebuildForUser(owner.getId());
+        entityManager.clear();
+
+        List<DailyNutritionSummary> rows = summaryRepository.findByUserAndDateRange(owner.getId(), TODAY.minusYears(1), TODAY);
+        assertThat(rows).extracting(DailyNutritionSummary::getSummaryDate)
+                .containsExactly(WEEK_START.minusDays(3), WEEK_START, TODAY);
+        assertThat(rows.get(2).getItemCount()).isEqualTo(2);
+        assertThat(rows.get(2).getConsumedCount()).isEqualTo(1);
+        assertThat(rows.get(2).getCalorieSum()).isEqualTo(300);
+
+        FoodStats stats = summaryRepository.getStatsByUser(owner.getId(), TODAY, WEEK_START);
+        assertThat(stats.getTotalItems()).isEqualTo(4);
+        assertThat(stats.getConsumedItems()).isEqualTo(2);
+        assertThat(stats.getTotalCalories()).isEqualTo(1500);
+        assertThat(stats.getCaloriesToday()).isEqualTo(300);
+        assertThat(stats.getCaloriesLast7Days()).isEqualTo(500);
+    }
+
+    private void save(User owner, LocalDate day, Integer calorie, boolean consumed) {
+        FoodItem item = new FoodItem("item", null);
+        item.setUser(owner);
+        item.setCreatedAt(day.atTime(9, 30));
+        item.setCalorie(calorie);
+        if (consumed) {
+            item.setConsumedDate(day.atTime(12, 0));
+        }
+        foodItemRepository.save(item);
+    }
+}
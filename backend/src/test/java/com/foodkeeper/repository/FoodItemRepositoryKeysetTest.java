@@ -0,0 +1,114 @@
+package com.foodkeeper.repository;
+
+import com.foodkeeper.dto.FoodItemView;
+import com.foodkeeper.model.FoodItem;
+import com.foodkeeper.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class FoodItemRepositoryKeysetTest {
+
+    private static final LocalDateTime EARLIER = LocalDateTime.of(2024, 5, 1, 8, 0);
+    private static final LocalDateTime TIED = LocalDateTime.of(2024, 5, 2, 12, 0);
+
+    @Autowired
+    private FoodItemRepository foodItemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User("Page", "Owner", "keyset-owner@example.com", "x"));
+        User other = userRepository.save(new User("Other", "User", "keyset-other@example.com", "x"));
+
+        // Five rows share one timestamp, so page boundaries fall inside the tie
+        for (int i = 0; i < 5; i++) {
+            save(owner, "tied-" + i, TIED, TIED);
+        }
+        save(owner, "earlier-0", EARLIER, EARLIER);
+        save(owner, "earlier-1", EARLIER, null);
+        save(other, "foreign", TIED, TIED);
+    }
+
+    @Test
+    void createdAtPagesWalkTiesWithoutGapsOrRepeats() {
+        List<FoodItemView> expected = foodItemRepository.findViewsByUserId(owner.getId()).stream()
+                .sorted(Comparator.comparing(FoodItemView::createdAt).thenComparing(FoodItemView::id).reversed())
+                .toList();
+
+        List<FoodItemView> walked = new ArrayList<>();
+        List<FoodItemView> page = foodItemRepository.findPageByUser(owner.getId(), PageRequest.ofSize(2));
+        while (!page.isEmpty()) {
+            walked.addAll(page);
+            FoodItemView last = page.get(page.size() - 1);
+            page = foodItemRepository.findPageByUserAfter(owner.getId(), last.createdAt(), last.id(), PageRequest.ofSize(2));
+        }
+
+        assertThat(expected).hasSize(7);
+        assertThat(walked).extracting(FoodItemView::id).containsExactlyElementsOf(ids(expected));
+    }
+
+    @Test
+    void consumedPagesWalkTiesWithoutGapsOrRepeats() {
+        // One page holding every consumed item, re-sorted here so the ordering is checked independently
+        List<FoodItemView> expected = foodItemRepository.findConsumedPageByUser(owner.getId(), PageRequest.ofSize(100)).stream()
+                .sorted(Comparator.comparing(FoodItemView::consumedDate).thenComparing(FoodItemView::id).reversed())
+                .toList();
+
+        List<FoodItemView> walked = new ArrayList<>();
+        List<FoodItemView> page = foodItemRepository.findConsumedPageByUser(owner.getId(), PageRequest.ofSize(2));
+        while (!page.isEmpty()) {
+            walked.addAll(page);
+            FoodItemView last = page.get(page.size() - 1);
+            page = foodItemRepository.findConsumedPageByUserAfter(owner.getId(), last.consumedDate(), last.id(), PageRequest.ofSize(2));
+        }
+
+        assertThat(expected).hasSize(6);
+        assertThat(walked).extracting(FoodItemView::id).containsExactlyElementsOf(ids(expected));
+    }
+
+    @Test
+    void cursorInsideTieResumesAtNextLowerId() {
+        List<FoodItemView> firstPage = foodItemRepository.findPageByUser(owner.getId(), PageRequest.ofSize(3));
+        FoodItemView last = firstPage.get(2);
+
+        List<FoodItemView> next = foodItemRepository.findPageByUserAfter(owner.getId(), last.createdAt(), last.id(), PageRequest.ofSize(3));
+
+        assertThat(firstPage).allMatch(view -> view.createdAt().equals(TIED));
+        assertThat(next).first().satisfies(view -> {
+            assertThat(view.createdAt()).isEqualTo(TIED);
+            assertThat(view.id()).isLessThan(last.id());
+        });
+        assertThat(next).extracting(FoodItemView::name).doesNotContain("foreign");
+    }
+
+    private void save(User user, String name, LocalDateTime createdAt, LocalDateTime consumedDate) {
+        FoodItem item = new FoodItem(name);
+        item.setUser(user);
+        item.setCreatedAt(createdAt);
+        item.setConsumedDate(consumedDate);
+        foodItemRepository.save(item);
+    }
+
+    private static List<Long> ids(List<FoodItemView> views) {
+        return views.stream().map(FoodItemView::id).toList();
+    }
+}
@@ -0,0 +1,106 @@
+package com.foodkeeper.search;
+
+import com.foodkeeper.dto.FoodSuggestion;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SuggestionTrieTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+    @Test
+    void suggestsNamesUnderThePrefixOnly() {
+        SuggestionTrie trie = new SuggestionTrie(List.of(
+                usage("Apple", 0), usage("Apricot", 1), usage("Banana", 2), usage("Ap", 3)));
+
+        assertThat(names(trie.suggest("ap", 10))).containsExactlyInAnyOrder("Apple", "Apricot", "Ap");
+        assertThat(names(trie.suggest("apr", 10))).containsExactly("Apricot");
+        assertThat(names(trie.suggest("apple pie", 10))).isEmpty();
+        assertThat(names(trie.suggest("c", 10))).isEmpty();
+    }
+
+    @Test
+    void prefixIsItselfASuggestionWhenLogged() {
+        SuggestionTrie trie = new SuggestionTrie(List.of(usage("Tea", 0), usage("Teacake", 1)));
+
+        assertThat(names(trie.suggest("tea", 10))).containsExactlyInAnyOrder("Tea", "Teacake");
+    }
+
+    @Test
+    void emptyPrefixSuggestsEverything() {
+        SuggestionTrie trie = new SuggestionTrie(List.of(usage("Apple", 0), usage("Banana", 1)));
+
+        assertThat(names(trie.suggest("", 10))).containsExactlyInAnyOrder("Apple", "Banana");
+    }
+
+    @Test
+    void matchingIsCaseInsensitiveAndTrimmed() {
+        SuggestionTrie trie = new SuggestionTrie(List.of(usage("  Oatmeal ", 0), usage("OATMEAL", 1)));
+
+        List<FoodSuggestion> suggestions = trie.suggest(" oAt", 10);
+        assertThat(suggestions).hasSize(1);
+        assertThat(suggestions.get(0).getCount()).isEqualTo(2);
+        // Display name follows the most recent spelling
+        assertThat(suggestions.get(0).getName()).isEqualTo("OATMEAL");
+    }
+
+    @Test
+    void mostLoggedFirstThenMostRecent() {
+        SuggestionTrie trie = new SuggestionTrie(List.of(
+                usage("Bagel", 0), usage("Banana", 1), usage("Bacon", 2), usage("Bacon", 3)));
+
+        // Bacon twice; Banana and Bagel once each, Banana more recently
+        assertThat(names(trie.suggest("ba", 10))).containsExactly("Bacon", "Banana", "Bagel");
+    }
+
+    @Test
+    void recordingMoreUsesReordersSuggestions() {
+        SuggestionTrie trie = new SuggestionTrie(List.of(usage("Rice", 0), usage("Rice", 1), usage("Ribs", 2)));
+        assertThat(names(trie.suggest("ri", 10))).containsExactly("Rice", "Ribs");
+
+        trie.record(usage("Ribs", 3));
+        trie.record(usage("Ribs", 4));
+
+        assertThat(names(trie.suggest("ri", 10))).containsExactly("Ribs", "Rice");
+    }
+
+    @Test
+    void limitKeepsTheTopEntries() {
+        SuggestionTrie trie = new SuggestionTrie(List.of(
+                usage("Cod", 0), usage("Corn", 1), usage("Corn", 2), usage("Cocoa", 3), usage("Cocoa", 4), usage("Cocoa", 5)));
+
+        assertThat(names(trie.suggest("co", 2))).containsExactly("Cocoa", "Corn");
+    }
+
+    @Test
+    void olderUseCountsButKeepsLatestDetails() {
+        SuggestionTrie trie = new SuggestionTrie(List.of(
+                new NameUsage("Soup", 200, "1 bowl", DAY.plusDays(2)),
+                new NameUsage("Soup", 120, "1 cup", DAY)));
+
+        FoodSuggestion soup = trie.suggest("so", 10).get(0);
+        assertThat(soup.getCount()).isEqualTo(2);
+        assertThat(soup.getLastCalorie()).isEqualTo(200);
+        assertThat(soup.getLastQuantity()).isEqualTo("1 bowl");
+        assertThat(soup.getLastUsedAt()).isEqualTo(DAY.plusDays(2));
+    }
+
+    @Test
+    void blankNamesAreIgnored() {
+        SuggestionTrie trie = new SuggestionTrie(List.of(usage("   ", 0), usage("Egg", 1)));
+
+        assertThat(names(trie.suggest("", 10))).containsExactly("Egg");
+    }
+
+    private static NameUsage usage(String name, int minutes) {
+        return new NameUsage(name, 100, "1", DAY.plusMinutes(minutes));
+    }
+
+    private static List<String> names(List<FoodSuggestion> suggestions) {
+        return suggestions.stream().map(FoodSuggestion::getName).toList();
+    }
+}
@@ -0,0 +1,126 @@
+package com.foodkeeper.search;
+
+import com.foodkeeper.dto.FoodItemView;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserSearchIndexTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+    @Test
+    void ranksNamePrefixThenNameThenDescription() {
+        UserSearchIndex index = new UserSearchIndex(List.of(
+                item(1, "Cheesecake", "dessert", 0),
+                item(2, "Mac and cheese", null, 1),
+                item(3, "Pizza", "extra cheese", 2),
+                item(4, "Salad", "no dairy", 3)));
+
+        List<UserSearchIndex.Hit> hits = index.search("cheese", null, 10);
+
+        assertThat(ids(hits)).containsExactly(1L, 2L, 3L);
+        assertThat(hits).extracting(UserSearchIndex.Hit::rank).containsExactly(
+                UserSearchIndex.RANK_NAME_PREFIX, UserSearchIndex.RANK_NAME, UserSearchIndex.RANK_DESCRIPTION);
+    }
+
+    @Test
+    void tiesAreNewestFirstThenHighestId() {
+        UserSearchIndex index = new UserSearchIndex(List.of(
+                item(1, "Toast", null, 0),
+                item(2, "Toast", null, 5),
+                item(3, "Toast", null, 5),
+                item(4, "Toasted bagel", null, 1)));
+
+        assertThat(ids(index.search("toast", null, 10))).containsExactly(3L, 2L, 4L, 1L);
+    }
+
+    @Test
+    void shortQueriesScanEveryDocument() {
+        UserSearchIndex index = new UserSearchIndex(List.of(
+                item(1, "Egg", null, 0),
+                item(2, "Veggie wrap", null, 1),
+                item(3, "Toast", "with eggs", 2),
+                item(4, "Ham", null, 3)));
+
+        // Below the trigram length, so no posting lists narrow the candidates
+        assertThat(ids(index.search("eg", null, 10))).containsExactly(1L, 2L, 3L);
+        assertThat(ids(index.search("h", null, 10))).containsExactly(4L, 3L);
+        assertThat(ids(index.search("", null, 10))).hasSize(4);
+    }
+
+    @Test
+    void matchesSubstringsNotJustSharedGrams() {
+        UserSearchIndex index = new UserSearchIndex(List.of(item(1, "banana bread", null, 0)));
+
+        // Every gram of "nanan" occurs in the name, but the string itself doesn't
+        assertThat(index.search("nanan", null, 10)).isEmpty();
+        assertThat(ids(index.search("ana bre", null, 10))).containsExactly(1L);
+    }
+
+    @Test
+    void queryIsCaseInsensitiveAndTrimmed() {
+        UserSearchIndex index = new UserSearchIndex(List.of(item(1, "Greek Yogurt", null, 0)));
+
+        assertThat(ids(index.search("  YOGURT ", null, 10))).containsExactly(1L);
+    }
+
+    @Test
+    void pagesResumeStrictlyAfterTheLastHit() {
+        List<FoodItemView> items = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            items.add(item(i, "Soup " + i, null, 0));
+        }
+        items.add(item(6, "Pea", "soup", 0));
+        UserSearchIndex index = new UserSearchIndex(items);
+
+        List<Long> seen = new ArrayList<>();
+        UserSearchIndex.Hit after = null;
+        List<UserSearchIndex.Hit> page;
+        do {
+            page = index.search("soup", after, 2);
+            seen.addAll(ids(page));
+            after = page.isEmpty() ? null : page.get(page.size() - 1);
+        } while (page.size() == 2);
+
+        assertThat(seen).containsExactly(5L, 4L, 3L, 2L, 1L, 6L);
+    }
+
+    @Test
+    void upsertReindexesAndRemoveDrops() {
+        UserSearchIndex index = new UserSearchIndex(List.of(item(1, "Porridge", null, 0), item(2, "Pasta", null, 1)));
+
+        index.upsert(item(1, "Pancakes", null, 0));
+        index.remove(List.of(2L));
+
+        assertThat(index.search("porridge", null, 10)).isEmpty();
+        assertThat(index.search("pasta", null, 10)).isEmpty();
+        assertThat(ids(index.search("pancake", null, 10))).containsExactly(1L);
+    }
+
+    @Test
+    void markConsumedReplacesTheViewAndKeepsItSearchable() {
+        UserSearchIndex index = new UserSearchIndex(List.of(item(1, "Curry", "green", 0)));
+        LocalDateTime eaten = DAY.plusHours(2);
+
+        index.markConsumed(List.of(1L), eaten, eaten);
+
+        FoodItemView hit = index.search("curry", null, 10).get(0).item();
+        assertThat(hit.consumedDate()).isEqualTo(eaten);
+        assertThat(hit.updatedAt()).isEqualTo(eaten);
+        assertThat(hit.description()).isEqualTo("green");
+        assertThat(ids(index.search("green", null, 10))).containsExactly(1L);
+    }
+
+    private static FoodItemView item(long id, String name, String description, int minutes) {
+        return new FoodItemView(id, name, DAY.plusMinutes(minutes), null, null, description, null, null);
+    }
+
+    private static List<Long> ids(List<UserSearchIndex.Hit> hits) {
+        return hits.stream().map(hit -> hit.item().id()).toList();
+    }
+}
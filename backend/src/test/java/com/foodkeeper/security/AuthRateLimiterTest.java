@@ -0,0 +1,130 @@
+package com.foodkeeper.security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+class AuthRateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private AuthRateLimiter limiter;
+
+    private long now = 5_000 * SECOND;
+
+    @BeforeEach
+    void setUp() {
+        // login: 3 per IP and 2 per email per minute; register: per-IP only
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("test", Map.of(
+                "app.ratelimit.login.ipCapacity", "3",
+                "app.ratelimit.login.emailCapacity", "2",
+                "app.ratelimit.login.periodSeconds", "60",
+                "app.ratelimit.register.ipCapacity", "1",
+                "app.ratelimit.register.emailCapacity", "0",
+                "app.ratelimit.register.periodSeconds", "60")));
+        limiter = newLimiter(environment, true);
+    }
+
+    @Test
+    void emailLimitAppliesAcrossIps() {
+        limiter.check("login", request("10.0.0.1"), "a@example.com");
+        limiter.check("login", request("10.0.0.2"), "a@example.com");
+
+        assertThatThrownBy(() -> limiter.check("login", request("10.0.0.3"), "A@Example.com "))
+                .isInstanceOf(RateLimitExceededException.class);
+        assertThatCode(() -> limiter.check("login", request("10.0.0.3"), "b@example.com")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void ipLimitAppliesAcrossEmails() {
+        limiter.check("login", request("10.0.0.1"), "a@example.com");
+        limiter.check("login", request("10.0.0.1"), "b@example.com");
+        limiter.check("login", request("10.0.0.1"), "c@example.com");
+
+        assertThatThrownBy(() -> limiter.check("login", request("10.0.0.1"), "d@example.com"))
+                .isInstanceOf(RateLimitExceededException.class);
+        assertThatCode(() -> limiter.check("login", request("10.0.0.2"), "d@example.com")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void endpointsHaveSeparateBuckets() {
+        limiter.check("register", request("10.0.0.1"), "a@example.com");
+
+        assertThatThrownBy(() -> limiter.check("register", request("10.0.0.1"), "b@example.com"))
+                .isInstanceOf(RateLimitExceededException.class);
+        assertThatCode(() -> limiter.check("login", request("10.0.0.1"), "a@example.com")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void retryAfterRoundsUpToNextToken() {
+        limiter.check("login", request("10.0.0.1"), "a@example.com");
+        limiter.check("login", request("10.0.0.1"), "a@example.com");
+
+        // 2 per 60 s: the next email token is 30 s out
+        assertThat(rejection("a@example.com").getRetryAfterSeconds()).isEqualTo(30);
+
+        now += SECOND / 2;
+        assertThat(rejection("a@example.com").getRetryAfterSeconds()).isEqualTo(30);
+
+        now += 29 * SECOND;
+        assertThat(rejection("a@example.com").getRetryAfterSeconds()).isEqualTo(1);
+    }
+
+    @Test
+    void allowsAgainAfterEmissionInterval() {
+        limiter.check("login", request("10.0.0.1"), "a@example.com");
+        limiter.check("login", request("10.0.0.1"), "a@example.com");
+        assertThat(rejection("a@example.com")).isNotNull();
+
+        now += 30 * SECOND;
+
+        assertThatCode(() -> limiter.check("login", request("10.0.0.1"), "a@example.com")).doesNotThrowAnyException();
+        assertThat(rejection("a@example.com")).isNotNull();
+    }
+
+    @Test
+    void disabledLimiterAllowsEverything() {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("test", Map.of(
+                "app.ratelimit.login.ipCapacity", "1")));
+        AuthRateLimiter disabled = newLimiter(environment, false);
+
+        for (int i = 0; i < 10; i++) {
+            disabled.check("login", request("10.0.0.1"), "a@example.com");
+        }
+    }
+
+    private RateLimitExceededException rejection(String email) {
+        return catchThrowableOfType(() -> limiter.check("login", request("10.0.0.9"), email),
+                RateLimitExceededException.class);
+    }
+
+    private AuthRateLimiter newLimiter(StandardEnvironment environment, boolean enabled) {
+        AuthRateLimiter rateLimiter = new AuthRateLimiter();
+        ReflectionTestUtils.setField(rateLimiter, "environment", environment);
+        ReflectionTestUtils.setField(rateLimiter, "enabled", enabled);
+        ReflectionTestUtils.setField(rateLimiter, "maxKeys", 1000L);
+        ReflectionTestUtils.setField(rateLimiter, "idleMinutes", 15L);
+        ReflectionTestUtils.invokeMethod(rateLimiter, "init");
+        rateLimiter.nanoClock = () -> now;
+        return rateLimiter;
+    }
+
+    private static MockHttpServletRequest request(String ip) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login");
+        request.setRemoteAddr(ip);
+        return request;
+    }
+}
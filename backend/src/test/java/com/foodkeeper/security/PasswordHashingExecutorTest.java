@@ -0,0 +1,49 @@
+package com.foodkeeper.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PasswordHashingExecutorTest {
+
+    private PasswordHashingExecutor executor;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        executor = new PasswordHashingExecutor();
+        ReflectionTestUtils.setField(executor, "threads", 1);
+        ReflectionTestUtils.setField(executor, "queueCapacity", 4);
+        ReflectionTestUtils.setField(executor, "timeoutMillis", 5_000L);
+        executor.init();
+        executor.bindTo(registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void maxGaugeReportsTheSlowestHash() {
+        assertThat(registry.get("foodkeeper.password.hash.max").gauge().value()).isZero();
+
+        executor.execute(() -> "fast");
+        executor.execute(() -> {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(50));
+            return "slow";
+        });
+        executor.execute(() -> "fast");
+
+        assertThat(registry.get("foodkeeper.password.hash.max").gauge().value()).isGreaterThanOrEqualTo(0.05);
+        assertThat(registry.get("foodkeeper.password.hash").functionTimer().count()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,79 @@
+package com.foodkeeper.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final long T0 = 1_000 * SECOND;
+
+    // 5 tokens per 10 s: one token every 2 s
+    private final TokenBucket.Rule rule = new TokenBucket.Rule(5, 10 * SECOND);
+
+    @Test
+    void allowsFullBurstThenRejects() {
+        TokenBucket bucket = new TokenBucket(T0);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(bucket.tryConsume(rule, T0)).isZero();
+        }
+        assertThat(bucket.tryConsume(rule, T0)).isPositive();
+    }
+
+    @Test
+    void reportsWaitUntilNextToken() {
+        TokenBucket bucket = drained();
+
+        assertThat(bucket.tryConsume(rule, T0)).isEqualTo(2 * SECOND);
+        assertThat(bucket.tryConsume(rule, T0 + SECOND / 2)).isEqualTo(3 * SECOND / 2);
+    }
+
+    @Test
+    void refillsOneTokenPerEmissionInterval() {
+        TokenBucket bucket = drained();
+
+        assertThat(bucket.tryConsume(rule, T0 + 2 * SECOND - 1)).isEqualTo(1);
+        assertThat(bucket.tryConsume(rule, T0 + 2 * SECOND)).isZero();
+        assertThat(bucket.tryConsume(rule, T0 + 2 * SECOND)).isEqualTo(2 * SECOND);
+    }
+
+    @Test
+    void rejectedAttemptsConsumeNothing() {
+        TokenBucket bucket = drained();
+        for (int i = 0; i < 10; i++) {
+            bucket.tryConsume(rule, T0 + i);
+        }
+
+        assertThat(bucket.tryConsume(rule, T0 + 2 * SECOND)).isZero();
+    }
+
+    @Test
+    void refillsToCapacityButNotBeyond() {
+        TokenBucket bucket = drained();
+        long later = T0 + 60 * SECOND;
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(bucket.tryConsume(rule, later)).isZero();
+        }
+        assertThat(bucket.tryConsume(rule, later)).isEqualTo(2 * SECOND);
+    }
+
+    @Test
+    void rejectsNonPositiveRules() {
+        assertThatThrownBy(() -> new TokenBucket.Rule(0, SECOND)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TokenBucket.Rule(1, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private TokenBucket drained() {
+        TokenBucket bucket = new TokenBucket(T0);
+        for (int i = 0; i < 5; i++) {
+            bucket.tryConsume(rule, T0);
+        }
+        return bucket;
+    }
+}
@@ -0,0 +1,291 @@
+package com.foodkeeper.service;
+
+import com.foodkeeper.model.EmailOutbox;
+import com.foodkeeper.model.EmailStatus;
+import com.foodkeeper.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+// The dispatcher runs its own transactions, so the test doesn't wrap one around it
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmailOutboxDispatcherTest {
+
+    private static final long LEASE_MS = 60_000;
+    private static final long INITIAL_BACKOFF_MS = 10_000;
+    private static final int MAX_ATTEMPTS = 3;
+
+    @Autowired
+    private EmailOutboxRepository outboxRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private StubMailSender mailSender;
+    private EmailOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository.deleteAll();
+        mailSender = new StubMailSender();
+        dispatcher = new EmailOutboxDispatcher();
+        ReflectionTestUtils.setField(dispatcher, "outboxRepository", outboxRepository);
+        ReflectionTestUtils.setField(dispatcher, "mailSender", mailSender);
+        ReflectionTestUtils.setField(dispatcher, "transactionManager", transactionManager);
+        ReflectionTestUtils.setField(dispatcher, "fromEmail", "test@localhost");
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 50);
+        ReflectionTestUtils.setField(dispatcher, "leaseMs", LEASE_MS);
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", MAX_ATTEMPTS);
+        ReflectionTestUtils.setField(dispatcher, "initialBackoffMs", INITIAL_BACKOFF_MS);
+        ReflectionTestUtils.setField(dispatcher, "maxBackoffMs", 3_600_000L);
+        ReflectionTestUtils.setField(dispatcher, "retentionDays", 7L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.stop();
+        outboxRepository.deleteAll();
+    }
+
+    @Test
+    void sendsDueMailInOneBatchAndMarksItSent() {
+        EmailOutbox first = queue("a@example.com");
+        EmailOutbox second = queue("b@example.com");
+        EmailOutbox later = queue("later@example.com", LocalDateTime.now().plusHours(1));
+
+        runPass();
+
+        assertThat(mailSender.batches).containsExactly(List.of("a@example.com", "b@example.com"));
+        assertThat(reload(first).getStatus()).isEqualTo(EmailStatus.SENT);
+        assertThat(reload(first).getSentAt()).isNotNull();
+        assertThat(reload(second).getStatus()).isEqualTo(EmailStatus.SENT);
+        assertThat(reload(later).getStatus()).isEqualTo(EmailStatus.PENDING);
+        assertThat(reload(later).getAttempts()).isZero();
+    }
+
+    @Test
+    void fullBatchesAreFollowedByAnotherClaim() {
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 2);
+        queue("a@example.com");
+        queue("b@example.com");
+        queue("c@example.com");
+
+        runPass();
+
+        assertThat(mailSender.batches).hasSize(2);
+        assertThat(outboxRepository.countByStatus(EmailStatus.SENT)).isEqualTo(3);
+    }
+
+    @Test
+    void claimLeasesRowsSoTheyAreNotClaimedTwice() {
+        EmailOutbox email = queue("a@example.com");
+
+        LocalDateTime before = LocalDateTime.now();
+        List<EmailOutbox> claimed = claimBatch();
+
+        assertThat(claimed).extracting(EmailOutbox::getId).containsExactly(email.getId());
+        assertThat(reload(email).getNextAttemptAt())
+                .isCloseTo(before.plus(Duration.ofMillis(LEASE_MS)), within(5, ChronoUnit.SECONDS));
+        assertThat(claimBatch()).isEmpty();
+        assertThat(mailSender.batches).isEmpty();
+    }
+
+    @Test
+    void failedBatchIsRescheduledWithBackoff() {
+        EmailOutbox fresh = queue("a@example.com");
+        EmailOutbox retried = queue("b@example.com");
+        retried.setAttempts(1);
+        outboxRepository.save(retried);
+        mailSender.failConnection = true;
+
+        LocalDateTime before = LocalDateTime.now();
+        runPass();
+
+        EmailOutbox freshAfter = reload(fresh);
+        assertThat(freshAfter.getStatus()).isEqualTo(EmailStatus.PENDING);
+        assertThat(freshAfter.getAttempts()).isEqualTo(1);
+        assertThat(freshAfter.getLastError()).contains("connection refused");
+        assertThat(freshAfter.getNextAttemptAt())
+                .isCloseTo(before.plus(Duration.ofMillis(INITIAL_BACKOFF_MS)), within(5, ChronoUnit.SECONDS));
+
+        // Second failure doubles the delay
+        EmailOutbox retriedAfter = reload(retried);
+        assertThat(retriedAfter.getAttempts()).isEqualTo(2);
+        assertThat(retriedAfter.getNextAttemptAt())
+                .isCloseTo(before.plus(Duration.ofMillis(2 * INITIAL_BACKOFF_MS)), within(5, ChronoUnit.SECONDS));
+
+        // Not due again until the backoff passes
+        mailSender.failConnection = false;
+        runPass();
+        assertThat(mailSender.batches).isEmpty();
+        assertThat(outboxRepository.countByStatus(EmailStatus.PENDING)).isEqualTo(2);
+    }
+
+    @Test
+    void onlyRejectedMessagesOfABatchAreRetried() {
+        EmailOutbox good = queue("good@example.com");
+        EmailOutbox bad = queue("bad@example.com");
+        mailSender.rejectedRecipients.add("bad@example.com");
+
+        runPass();
+
+        assertThat(reload(good).getStatus()).isEqualTo(EmailStatus.SENT);
+        EmailOutbox badAfter = reload(bad);
+        assertThat(badAfter.getStatus()).isEqualTo(EmailStatus.PENDING);
+        assertThat(badAfter.getAttempts()).isEqualTo(1);
+        assertThat(badAfter.getLastError()).contains("mailbox unavailable");
+    }
+
+    @Test
+    void mailIsAbandonedAfterMaxAttempts() {
+        EmailOutbox email = queue("a@example.com");
+        email.setAttempts(MAX_ATTEMPTS - 1);
+        outboxRepository.save(email);
+        mailSender.failConnection = true;
+
+        runPass();
+
+        EmailOutbox after = reload(email);
+        assertThat(after.getStatus()).isEqualTo(EmailStatus.FAILED);
+        assertThat(after.getAttempts()).isEqualTo(MAX_ATTEMPTS);
+        assertThat(outboxRepository.countByStatus(EmailStatus.PENDING)).isZero();
+    }
+
+    @Test
+    void purgeRemovesOnlyFinishedRowsPastRetention() {
+        LocalDateTime old = LocalDateTime.now().minusDays(8);
+        EmailOutbox oldSent = queueFinished("old-sent@example.com", EmailStatus.SENT, old);
+        EmailOutbox oldFailed = queueFinished("old-failed@example.com", EmailStatus.FAILED, old);
+        EmailOutbox recentSent = queueFinished("recent@example.com", EmailStatus.SENT, LocalDateTime.now().minusDays(1));
+        EmailOutbox oldPending = queue("old-pending@example.com", LocalDateTime.now().plusHours(1));
+        oldPending.setCreatedAt(old);
+        outboxRepository.save(oldPending);
+
+        runPass();
+
+        assertThat(outboxRepository.findById(oldSent.getId())).isEmpty();
+        assertThat(outboxRepository.findById(oldFailed.getId())).isEmpty();
+        assertThat(outboxRepository.findById(recentSent.getId())).isPresent();
+        assertThat(outboxRepository.findById(oldPending.getId())).isPresent();
+    }
+
+    @Test
+    void purgeRunsAtMostHourly() {
+        runPass();
+        EmailOutbox oldSent = queueFinished("old-sent@example.com", EmailStatus.SENT, LocalDateTime.now().minusDays(8));
+
+        runPass();
+
+        assertThat(outboxRepository.findById(oldSent.getId())).isPresent();
+    }
+
+    @Test
+    void pendingGaugeReportsTheLastPassInsteadOfQueryingOnScrape() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        dispatcher.bindTo(registry);
+        queue("later@example.com", LocalDateTime.now().plusHours(1));
+
+        assertThat(registry.get("foodkeeper.email.outbox.pending").gauge().value()).isZero();
+
+        runPass();
+
+        assertThat(registry.get("foodkeeper.email.outbox.pending").gauge().value()).isEqualTo(1);
+    }
+
+    private void runPass() {
+        ReflectionTestUtils.invokeMethod(dispatcher, "runPass");
+    }
+
+    private List<EmailOutbox> claimBatch() {
+        return ReflectionTestUtils.invokeMethod(dispatcher, "claimBatch");
+    }
+
+    private EmailOutbox queue(String recipient) {
+        return outboxRepository.save(new EmailOutbox(recipient, "Subject", "Body"));
+    }
+
+    private EmailOutbox queue(String recipient, LocalDateTime nextAttemptAt) {
+        EmailOutbox email = new EmailOutbox(recipient, "Subject", "Body");
+        email.setNextAttemptAt(nextAttemptAt);
+        return outboxRepository.save(email);
+    }
+
+    private EmailOutbox queueFinished(String recipient, EmailStatus status, LocalDateTime createdAt) {
+        EmailOutbox email = new EmailOutbox(recipient, "Subject", "Body");
+        email.setStatus(status);
+        email.setCreatedAt(createdAt);
+        return outboxRepository.save(email);
+    }
+
+    private EmailOutbox reload(EmailOutbox email) {
+        return outboxRepository.findById(email.getId()).orElseThrow();
+    }
+
+    // Records each send call instead of talking SMTP; can fail the connection or single recipients
+    static class StubMailSender extends JavaMailSenderImpl {
+
+        final List<List<String>> batches = new ArrayList<>();
+        final Set<String> rejectedRecipients = new HashSet<>();
+        boolean failConnection;
+
+        @Override
+        protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) throws MailException {
+            if (failConnection) {
+                throw new MailSendException("connection refused");
+            }
+            List<String> recipients = new ArrayList<>();
+            Map<Object, Exception> failed = new LinkedHashMap<>();
+            for (MimeMessage message : mimeMessages) {
+                String recipient = recipientOf(message);
+                if (rejectedRecipients.contains(recipient)) {
+                    failed.put(message, new MessagingException("550 mailbox unavailable"));
+                } else {
+                    recipients.add(recipient);
+                }
+            }
+            batches.add(recipients);
+            if (!failed.isEmpty()) {
+                throw new MailSendException(failed);
+            }
+        }
+
+        private static String recipientOf(MimeMessage message) {
+            try {
+                return ((InternetAddress) message.getAllRecipients()[0]).getAddress();
+            } catch (MessagingException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
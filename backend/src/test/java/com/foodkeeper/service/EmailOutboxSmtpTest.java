@@ -0,0 +1,143 @@
+package com.foodkeeper.service;
+
+import com.foodkeeper.model.EmailOutbox;
+import com.foodkeeper.model.EmailStatus;
+import com.foodkeeper.repository.EmailOutboxRepository;
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetup;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+// Real JavaMailSenderImpl (SMTP AUTH as configured for production) against an
+// embedded SMTP server; passes run on the dispatcher's own thread, woken the way
+// a committed transaction wakes it
+@SpringBootTest(properties = {
+        "spring.mail.password=" + EmailOutboxSmtpTest.SMTP_PASSWORD,
+        "app.mail.outbox.initialBackoffMs=60000"
+})
+@ActiveProfiles("test")
+class EmailOutboxSmtpTest {
+
+    static final String SMTP_PASSWORD = "outbox-secret";
+
+    // Fixed for the class so the server can be stopped and restarted on the same port
+    private static final int SMTP_PORT = freePort();
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(
+            new ServerSetup(SMTP_PORT, "127.0.0.1", ServerSetup.PROTOCOL_SMTP))
+            .withConfiguration(GreenMailConfiguration.aConfig().withUser("test@localhost", SMTP_PASSWORD));
+
+    @DynamicPropertySource
+    static void mailProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.mail.host", () -> "127.0.0.1");
+        registry.add("spring.mail.port", () -> SMTP_PORT);
+    }
+
+    @Autowired
+    private EmailOutboxDispatcher dispatcher;
+
+    @Autowired
+    private EmailOutboxRepository outboxRepository;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository.deleteAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxRepository.deleteAll();
+    }
+
+    @Test
+    void queuedMailIsDeliveredOverSmtpAndMarkedSent() throws Exception {
+        EmailOutbox first = outboxRepository.save(new EmailOutbox("a@example.com", "Your code", "Code: 123456"));
+        EmailOutbox second = outboxRepository.save(new EmailOutbox("b@example.com", "Welcome", "Hello"));
+        EmailOutbox third = outboxRepository.save(new EmailOutbox("c@example.com", "Reset", "Code: 654321"));
+
+        dispatcher.wakeUpAfterCommit();
+
+        assertThat(greenMail.waitForIncomingEmail(10_000, 3)).isTrue();
+        awaitStatus(EmailStatus.SENT, first, second, third);
+
+        assertThat(greenMail.getReceivedMessages()).hasSize(3);
+        for (String recipient : new String[] {"a@example.com", "b@example.com", "c@example.com"}) {
+            assertThat(greenMail.getReceivedMessagesForDomain(recipient)).hasSize(1);
+        }
+        MimeMessage code = greenMail.getReceivedMessagesForDomain("a@example.com")[0];
+        assertThat(code.getSubject()).isEqualTo("Your code");
+        assertThat(GreenMailUtil.getBody(code)).isEqualTo("Code: 123456");
+        assertThat(GreenMailUtil.getAddressList(code.getFrom())).isEqualTo("test@localhost");
+        assertThat(reload(first).getAttempts()).isZero();
+    }
+
+    @Test
+    void unreachableServerSchedulesRetryAndDeliversOnceBack() {
+        greenMail.stop();
+        EmailOutbox email = outboxRepository.save(new EmailOutbox("a@example.com", "Your code", "Code: 123456"));
+
+        LocalDateTime before = LocalDateTime.now();
+        dispatcher.wakeUpAfterCommit();
+
+        await().atMost(Duration.ofSeconds(10)).until(() -> reload(email).getAttempts() == 1);
+        EmailOutbox failed = reload(email);
+        assertThat(failed.getStatus()).isEqualTo(EmailStatus.PENDING);
+        assertThat(failed.getLastError()).isNotBlank();
+        assertThat(failed.getNextAttemptAt()).isAfter(before.plusSeconds(50));
+
+        // Still backing off: a pass now leaves it alone
+        greenMail.start();
+        dispatcher.wakeUpAfterCommit();
+        assertThat(greenMail.waitForIncomingEmail(1_000, 1)).isFalse();
+
+        // Backoff elapsed
+        failed.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        outboxRepository.save(failed);
+        dispatcher.wakeUpAfterCommit();
+
+        assertThat(greenMail.waitForIncomingEmail(10_000, 1)).isTrue();
+        awaitStatus(EmailStatus.SENT, email);
+        assertThat(reload(email).getAttempts()).isEqualTo(1);
+        assertThat(reload(email).getLastError()).isNull();
+    }
+
+    private void awaitStatus(EmailStatus status, EmailOutbox... emails) {
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+            for (EmailOutbox email : emails) {
+                assertThat(reload(email).getStatus()).isEqualTo(status);
+            }
+        });
+    }
+
+    private EmailOutbox reload(EmailOutbox email) {
+        return outboxRepository.findById(email.getId()).orElseThrow();
+    }
+
+    private static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.foodkeeper.service;
+
+import com.foodkeeper.dto.ImportResponse;
+import com.foodkeeper.model.User;
+import com.foodkeeper.repository.FoodItemRepository;
+import com.foodkeeper.repository.UserRepository;
+import com.foodkeeper.security.UserPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Full context, committed transactions: each chunk is persisted in its own transaction
+@SpringBootTest
+@ActiveProfiles("test")
+class FoodItemImportServiceTest {
+
+    private static final String CSV = """
+            Name,Description,Quantity,Calories,Created Date,Consumed Date
+            Oats,,1 cup,150,,
+            ,missing name,,,,
+            Apple,,,80,,
+            """;
+
+    @Autowired
+    private FoodItemImportService importService;
+
+    @Autowired
+    private FoodItemRepository foodItemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void validRowsAreImportedAndInvalidRowsReported() throws IOException {
+        User owner = userRepository.save(new User("Import", "Owner", "import-" + System.nanoTime() + "@example.com", "x"));
+        authenticate(owner);
+
+        ImportResponse response = importService.importFoodItemsFromCSV(csv());
+
+        assertThat(response.getImportedRows()).isEqualTo(2);
+        assertThat(response.getRejectedRows()).isEqualTo(1);
+        assertThat(response.getErrors()).extracting(ImportResponse.RowError::getRow).containsExactly(2L);
+        assertThat(foodItemRepository.findViewsByUserId(owner.getId())).hasSize(2);
+    }
+
+    @Test
+    void chunkThatFailsOnFlushIsReportedInsteadOfThrown() throws IOException {
+        // No such user row: the flush hits the food_items foreign key, which the
+        // shared EntityManager reports as an untranslated PersistenceException
+        User missing = new User("Gone", "User", "gone-" + System.nanoTime() + "@example.com", "x");
+        missing.setId(Long.MAX_VALUE);
+        authenticate(missing);
+
+        ImportResponse response = importService.importFoodItemsFromCSV(csv());
+
+        assertThat(response.getImportedRows()).isZero();
+        assertThat(response.getRejectedRows()).isEqualTo(3);
+        assertThat(response.getErrors()).extracting(ImportResponse.RowError::getRow).containsExactly(2L, 1L);
+        assertThat(response.getErrors().get(1).getMessage()).startsWith("Rows 1-3 not imported");
+    }
+
+    private static InputStream csv() {
+        return new ByteArrayInputStream(CSV.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void authenticate(User user) {
+        // CurrentUserResolver is request scoped and reads the principal AuthTokenFilter would set
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        UserPrincipal principal = UserPrincipal.of(user);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+}
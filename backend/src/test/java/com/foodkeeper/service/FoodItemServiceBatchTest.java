@@ -0,0 +1,208 @@
+package com.foodkeeper.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.foodkeeper.controller.FoodItemController;
+import com.foodkeeper.dto.BatchRequest;
+import com.foodkeeper.dto.BatchResponse;
+import com.foodkeeper.model.FoodItem;
+import com.foodkeeper.model.User;
+import com.foodkeeper.repository.DailyNutritionSummaryRepository;
+import com.foodkeeper.repository.FoodItemRepository;
+import com.foodkeeper.repository.FoodItemTombstoneRepository;
+import com.foodkeeper.repository.UserRepository;
+import com.foodkeeper.security.UserPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Full context, committed transactions: the rollup, tombstones and data version
+// are all written by applyBatch's own transaction
+@SpringBootTest
+@ActiveProfiles("test")
+class FoodItemServiceBatchTest {
+
+    @Autowired
+    private FoodItemService foodItemService;
+
+    @Autowired
+    private FoodItemController foodItemController;
+
+    @Autowired
+    private FoodItemRepository foodItemRepository;
+
+    @Autowired
+    private FoodItemTombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private DailyNutritionSummaryRepository summaryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserDataVersions dataVersions;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.batch.maxOperations:500}")
+    private int maxBatchOperations;
+
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new User("Batch", "Owner", "batch-" + System.nanoTime() + "@example.com", "x"));
+        // CurrentUserResolver is request scoped and reads the principal AuthTokenFilter would set
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        UserPrincipal principal = UserPrincipal.of(owner);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void mixedBatchUpdatesRollupTombstonesAndVersion() {
+        FoodItem toUpdate = seed("Oats", 150);
+        FoodItem toConsume = seed("Apple", 80);
+        FoodItem toDelete = seed("Cake", 400);
+        long versionBefore = dataVersions.current(owner.getId());
+        LocalDateTime beforeBatch = LocalDateTime.now().minusSeconds(1);
+
+        ObjectNode created = item("Soup", 200);
+        ObjectNode updated = item("Oats", 300);
+        BatchResponse response = foodItemService.applyBatch(List.of(
+                operation("create", null, created),
+                operation("update", toUpdate.getId(), updated),
+                operation("consume", toConsume.getId(), null),
+                operation("delete", toDelete.getId(), null),
+                operation("delete", Long.MAX_VALUE, null),
+                operation("explode", toUpdate.getId(), null)));
+
+        assertThat(response.getResults()).extracting(BatchResponse.OperationResult::getStatus)
+                .containsExactly("ok", "ok", "ok", "ok", "not_found", "invalid");
+
+        // Items are logged today: Oats re-counted at 300, Apple consumed, Cake gone, Soup added
+        LocalDate today = LocalDate.now();
+        assertThat(summaryRepository.findByUserAndDateRange(owner.getId(), today.minusDays(1), today.plusDays(1)))
+                .singleElement().satisfies(day -> {
+                    assertThat(day.getItemCount()).isEqualTo(3);
+                    assertThat(day.getConsumedCount()).isEqualTo(1);
+                    assertThat(day.getCalorieSum()).isEqualTo(580);
+                });
+        assertThat(summaryRepository.sumItemCountByUser(owner.getId()))
+                .isEqualTo(foodItemRepository.findViewsByUserId(owner.getId()).size());
+
+        assertThat(tombstoneRepository.findDeletedIdsSince(owner.getId(), beforeBatch)).containsExactly(toDelete.getId());
+        assertThat(foodItemRepository.findById(toDelete.getId())).isEmpty();
+        assertThat(foodItemRepository.findById(toConsume.getId()).orElseThrow().getConsumedDate()).isNotNull();
+        assertThat(dataVersions.current(owner.getId())).isGreaterThan(versionBefore);
+    }
+
+    @Test
+    void invalidItemsAreReportedWithoutApplyingThem() {
+        FoodItem existing = seed("Rice", 100);
+        ObjectNode blankName = item(" ", 100);
+
+        BatchResponse response = foodItemService.applyBatch(List.of(
+                operation("create", null, blankName),
+                operation("update", existing.getId(), blankName),
+                operation("create", null, item("Beans", 50))));
+
+        assertThat(response.getResults()).extracting(BatchResponse.OperationResult::getStatus)
+                .containsExactly("invalid", "invalid", "ok");
+        assertThat(foodItemRepository.findById(existing.getId()).orElseThrow().getName()).isEqualTo("Rice");
+        assertThat(summaryRepository.sumCaloriesByUser(owner.getId())).isEqualTo(150);
+    }
+
+    @Test
+    void emptyOrOversizedBatchIsRejectedWith400() {
+        long versionBefore = dataVersions.current(owner.getId());
+
+        assertThatThrownBy(() -> foodItemService.applyBatch(List.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(foodItemController.applyBatch(request(List.of())).getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+
+        List<BatchRequest.Operation> tooMany = new ArrayList<>();
+        for (int i = 0; i <= maxBatchOperations; i++) {
+            tooMany.add(operation("create", null, item("Bulk " + i, 1)));
+        }
+        ResponseEntity<BatchResponse> response = foodItemController.applyBatch(request(tooMany));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(foodItemRepository.findViewsByUserId(owner.getId())).isEmpty();
+        assertThat(dataVersions.current(owner.getId())).isEqualTo(versionBefore);
+    }
+
+    @Test
+    void batchTargetingAnItemTwiceIsRejectedWith400() {
+        FoodItem item = seed("Tea", 5);
+        long versionBefore = dataVersions.current(owner.getId());
+
+        // Grouped execution would run the update before the consume whatever the order sent
+        List<BatchRequest.Operation> twice = List.of(
+                operation("consume", item.getId(), null),
+                operation("update", item.getId(), item("Green tea", 10)));
+
+        assertThatThrownBy(() -> foodItemService.applyBatch(twice))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(String.valueOf(item.getId()));
+        assertThat(foodItemController.applyBatch(request(twice)).getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+
+        FoodItem after = foodItemRepository.findById(item.getId()).orElseThrow();
+        assertThat(after.getName()).isEqualTo("Tea");
+        assertThat(after.getConsumedDate()).isNull();
+        assertThat(dataVersions.current(owner.getId())).isEqualTo(versionBefore);
+    }
+
+    private FoodItem seed(String name, int calorie) {
+        BatchResponse response = foodItemService.applyBatch(List.of(operation("create", null, item(name, calorie))));
+        return foodItemRepository.findById(response.getResults().get(0).getId()).orElseThrow();
+    }
+
+    private ObjectNode item(String name, int calorie) {
+        ObjectNode item = objectMapper.createObjectNode();
+        item.put("name", name);
+        item.put("calorie", calorie);
+        return item;
+    }
+
+    private static BatchRequest.Operation operation(String op, Long id, ObjectNode item) {
+        BatchRequest.Operation operation = new BatchRequest.Operation();
+        operation.setOp(op);
+        operation.setId(id);
+        operation.setItem(item);
+        return operation;
+    }
+
+    private static BatchRequest request(List<BatchRequest.Operation> operations) {
+        BatchRequest request = new BatchRequest();
+        request.setOperations(operations);
+        return request;
+    }
+}
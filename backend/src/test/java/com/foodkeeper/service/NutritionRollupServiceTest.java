@@ -0,0 +1,122 @@
+package com.foodkeeper.service;
+
+import com.foodkeeper.model.DailyNutritionSummary;
+import com.foodkeeper.model.FoodItem;
+import com.foodkeeper.repository.DailyNutritionSummaryRepository;
+import com.foodkeeper.repository.FoodItemRollupRow;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({NutritionRollupService.class, UserDataVersions.class})
+class NutritionRollupServiceTest {
+
+    private static final long USER = 9_101L;
+    private static final LocalDate DAY_1 = LocalDate.of(2024, 5, 1);
+    private static final LocalDate DAY_3 = LocalDate.of(2024, 5, 3);
+
+    @Autowired
+    private NutritionRollupService rollupService;
+
+    @Autowired
+    private DailyNutritionSummaryRepository summaryRepository;
+
+    @Test
+    void removeAndAddOfTheSameStateNetToNothing() {
+        FoodItem item = item(1L, DAY_1.atTime(8, 0), null, 300);
+
+        rollupService.apply(USER, new NutritionRollupService.Delta().remove(item).add(item));
+
+        // Zero days are skipped, so no row is even created
+        assertThat(rows()).isEmpty();
+    }
+
+    @Test
+    void sameDayEditAppliesOnlyTheDifference() {
+        FoodItem item = item(1L, DAY_1.atTime(8, 0), null, 300);
+        rollupService.apply(USER, new NutritionRollupService.Delta().add(item));
+
+        FoodItemRollupRow before = row(item);
+        item.setCalorie(450);
+        item.setConsumedDate(DAY_1.atTime(12, 0));
+        rollupService.apply(USER, new NutritionRollupService.Delta().remove(before).add(item));
+
+        assertThat(rows()).singleElement().satisfies(day -> {
+            assertThat(day.getSummaryDate()).isEqualTo(DAY_1);
+            assertThat(day.getItemCount()).isEqualTo(1);
+            assertThat(day.getConsumedCount()).isEqualTo(1);
+            assertThat(day.getCalorieSum()).isEqualTo(450);
+        });
+    }
+
+    @Test
+    void itemMovedToAnotherDayLeavesTheOldDayAndCountsOnTheNewOne() {
+        FoodItem moved = item(1L, DAY_1.atTime(8, 0), DAY_1.atTime(9, 0), 300);
+        FoodItem stays = item(2L, DAY_1.atTime(10, 0), null, 100);
+        rollupService.apply(USER, new NutritionRollupService.Delta().add(moved).add(stays));
+
+        FoodItemRollupRow before = row(moved);
+        moved.setCreatedAt(DAY_3.atTime(8, 0));
+        rollupService.apply(USER, new NutritionRollupService.Delta().remove(before).add(moved));
+
+        List<DailyNutritionSummary> rows = rows();
+        assertThat(rows).extracting(DailyNutritionSummary::getSummaryDate).containsExactly(DAY_1, DAY_3);
+        assertThat(rows.get(0).getItemCount()).isEqualTo(1);
+        assertThat(rows.get(0).getConsumedCount()).isZero();
+        assertThat(rows.get(0).getCalorieSum()).isEqualTo(100);
+        assertThat(rows.get(1).getItemCount()).isEqualTo(1);
+        assertThat(rows.get(1).getConsumedCount()).isEqualTo(1);
+        assertThat(rows.get(1).getCalorieSum()).isEqualTo(300);
+    }
+
+    @Test
+    void consumingAndDeletingInOneDeltaNetsPerDay() {
+        FoodItemRollupRow a = new FoodItemRollupRow(1L, DAY_1.atTime(8, 0), null, 200);
+        FoodItemRollupRow b = new FoodItemRollupRow(2L, DAY_1.atTime(9, 0), null, 50);
+        rollupService.apply(USER, new NutritionRollupService.Delta().add(a).add(b));
+
+        // a consumed, then deleted in the same batch; b's calories cleared
+        FoodItemRollupRow consumedA = new FoodItemRollupRow(1L, a.createdAt(), DAY_3.atTime(7, 0), 200);
+        FoodItemRollupRow clearedB = new FoodItemRollupRow(2L, b.createdAt(), null, null);
+        rollupService.apply(USER, new NutritionRollupService.Delta()
+                .remove(a).add(consumedA)
+                .remove(consumedA)
+                .remove(b).add(clearedB));
+
+        // Consumption counts on the day the item was created, not the day it was eaten
+        assertThat(rows()).singleElement().satisfies(day -> {
+            assertThat(day.getItemCount()).isEqualTo(1);
+            assertThat(day.getConsumedCount()).isZero();
+            assertThat(day.getCalorieSum()).isZero();
+        });
+    }
+
+    private List<DailyNutritionSummary> rows() {
+        return summaryRepository.findByUserAndDateRange(USER, DAY_1.minusDays(1), DAY_3.plusDays(1));
+    }
+
+    private static FoodItem item(Long id, LocalDateTime createdAt, LocalDateTime consumedDate, Integer calorie) {
+        FoodItem item = new FoodItem("item", null);
+        item.setId(id);
+        item.setCreatedAt(createdAt);
+        item.setConsumedDate(consumedDate);
+        item.setCalorie(calorie);
+        return item;
+    }
+
+    private static FoodItemRollupRow row(FoodItem item) {
+        return new FoodItemRollupRow(item.getId(), item.getCreatedAt(), item.getConsumedDate(), item.getCalorie());
+    }
+}
@@ -0,0 +1,96 @@
+package com.foodkeeper.service;
+
+import com.foodkeeper.model.User;
+import com.foodkeeper.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Commits for real: the cache is only refreshed once a bump commits
+@DataJpaTest(properties = "app.dataVersions.ttlMs=3600000")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(UserDataVersions.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserDataVersionsTest {
+
+    @Autowired
+    private UserDataVersions dataVersions;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = userRepository.save(new User("Data", "Version", "data-version@example.com", "x")).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteById(userId);
+    }
+
+    @Test
+    void committedBumpIsVisibleOnlyAfterCommit() {
+        long before = dataVersions.current(userId);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            dataVersions.bump(userId);
+            // Another request re-caching the committed version mid-transaction
+            assertThat(fromOtherTransaction()).isEqualTo(before);
+        });
+
+        assertThat(dataVersions.current(userId)).isEqualTo(before + 1);
+    }
+
+    @Test
+    void rolledBackBumpLeavesVersionUnchanged() {
+        long before = dataVersions.current(userId);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            dataVersions.bump(userId);
+            status.setRollbackOnly();
+        });
+
+        assertThat(dataVersions.current(userId)).isEqualTo(before);
+    }
+
+    @Test
+    void versionIsPersistedNotPerInstance() {
+        dataVersions.bump(userId);
+        dataVersions.bump(userId);
+
+        // A fresh instance (another node, or after a restart) reads the same version
+        UserDataVersions other = new UserDataVersions(100, 3_600_000);
+        ReflectionTestUtils.setField(other, "userRepository", userRepository);
+        assertThat(other.current(userId)).isEqualTo(dataVersions.current(userId)).isEqualTo(2);
+    }
+
+    @Test
+    void unknownUserHasVersionZero() {
+        assertThat(dataVersions.current(-1L)).isZero();
+    }
+
+    private long fromOtherTransaction() {
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionTemplate.PROPAGATION_REQUIRES_NEW);
+        return requiresNew.execute(status -> dataVersions.current(userId));
+    }
+}
@@ -16,10 +16,14 @@ const FoodTracker = () => {
   const [activeTab, setActiveTab] = useState('all');
   const [isEditModalOpen, setIsEditModalOpen] = useState(false);
   const [editingItem, setEditingItem] = useState(null);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
+  const [stats, setStats] = useState(null);
 
   // Load food items on component mount
   useEffect(() => {
     loadFoodItems();
+    loadStats();
   }, []);
 
   // Filter items based on search term and active tab
@@ -34,7 +38,8 @@ const FoodTracker = () => {
       console.log('Loading food items...');
       const response = await foodItemsAPI.getAll();
       console.log('Food items loaded:', response.data);
-      setFoodItems(response.data || []);
+      setFoodItems(response.data?.items || []);
+      setNextCursor(response.data?.nextCursor || null);
     } catch (err) {
       console.error('Error loading food items:', err);
       if (err.response?.status === 401) {
@@ -49,6 +54,32 @@ const FoodTracker = () => {
     }
   };
 
+  // Stats cover every item, not just the pages loaded so far
+  const loadStats = async () => {
+    try {
+      const response = await foodItemsAPI.getStats();
+      setStats(response.data);
+    } catch (err) {
+      console.error('Error loading stats:', err);
+    }
+  };
+
+  const loadMoreFoodItems = async () => {
+    if (!nextCursor) return;
+    try {
+      setLoadingMore(true);
+      setError('');
+      const response = await foodItemsAPI.getAll(nextCursor);
+      setFoodItems(prevItems => [...prevItems, ...(response.data?.items || [])]);
+      setNextCursor(response.data?.nextCursor || null);
+    } catch (err) {
+      console.error('Error loading more food items:', err);
+      setError('Failed to load more food items. Please try again.');
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const filterItems = () => {
     let filtered = foodItems;
 
@@ -88,6 +119,7 @@ const FoodTracker = () => {
       setError('');
       const response = await foodItemsAPI.create(newItem);
       setFoodItems([...foodItems, response.data]);
+      loadStats();
       setSuccess('Food item added successfully!');
       setTimeout(() => setSuccess(''), 3000);
     } catch (err) {
@@ -103,6 +135,7 @@ const FoodTracker = () => {
       setFoodItems(foodItems.map(item => 
         item.id === id ? response.data : item
       ));
+      loadStats();
       setSuccess('Food item updated successfully!');
       setTimeout(() => setSuccess(''), 3000);
     } catch (err) {
@@ -117,6 +150,7 @@ const FoodTracker = () => {
         setError('');
         await foodItemsAPI.delete(id);
         setFoodItems(foodItems.filter(item => item.id !== id));
+        loadStats();
         setSuccess('Food item deleted successfully!');
         setTimeout(() => setSuccess(''), 3000);
       } catch (err) {
@@ -171,20 +205,20 @@ const FoodTracker = () => {
         {/* Statistics Dashboard */}
         <div className="stats-grid">
           <div className="stat-card">
-            <h3>{counts.total}</h3>
+            <h3>{stats ? stats.totalItems : counts.total}</h3>
             <p>Total Items</p>
           </div>
           <div className="stat-card">
-            <h3>{counts.consumed}</h3>
+            <h3>{stats ? stats.consumedItems : counts.consumed}</h3>
             <p>Consumed Items</p>
           </div>
           <div className="stat-card">
-            <h3>{totalCalories}</h3>
+            <h3>{stats ? stats.totalCalories : totalCalories}</h3>
             <p>Total Calories</p>
           </div>
           <div className="stat-card">
-            <h3>{counts.withCalories}</h3>
-            <p>Items with Calories</p>
+            <h3>{stats ? stats.caloriesLast7Days : 0}</h3>
+            <p>Calories (Last 7 Days)</p>
           </div>
         </div>
 
@@ -257,6 +291,16 @@ const FoodTracker = () => {
               emptyMessage="No food items found. Add some food items to see them here!"
             />
           )}
+
+          {!loading && nextCursor && (
+            <button
+              className="btn btn-secondary"
+              onClick={loadMoreFoodItems}
+              disabled={loadingMore}
+            >
+              {loadingMore ? 'Loading...' : 'Load more'}
+            </button>
+          )}
         </div>
 
         {/* Edit Modal */}
@@ -50,8 +50,10 @@ export const authAPI = {
 
 // Food Items API
 export const foodItemsAPI = {
-  // Get all food items
-  getAll: () => api.get('/food-items'),
+  // Get a page of food items (pass the previous page's nextCursor to continue)
+  getAll: (cursor = null, limit = null) => api.get('/food-items', {
+    params: { cursor: cursor || undefined, limit: limit || undefined },
+  }),
   
   // Get food item by ID
   getById: (id) => api.get(`/food-items/${id}`),
@@ -65,18 +67,40 @@ export const foodItemsAPI = {
   // Delete food item
   delete: (id) => api.delete(`/food-items/${id}`),
   
+  // Apply several operations at once: [{ op: 'create' | 'update' | 'delete' | 'consume', id, item, consumedDate }]
+  batch: (operations) => api.post('/food-items/batch', { operations }),
+  
   // Search food items by name
-  search: (name) => api.get(`/food-items/search?name=${encodeURIComponent(name)}`),
+  search: (name, cursor = null) => api.get('/food-items/search', {
+    params: { name, cursor: cursor || undefined },
+  }),
+  
+  // Typeahead suggestions from previously logged names
+  suggest: (prefix, limit = null) => api.get('/food-items/suggest', {
+    params: { prefix, limit: limit || undefined },
+  }),
   
   // Get recent food items (last 7 days)
-  getRecent: () => api.get('/food-items/recent'),
+  getRecent: (cursor = null) => api.get('/food-items/recent', {
+    params: { cursor: cursor || undefined },
+  }),
   
   // Get recently consumed food items
-  getRecentlyConsumed: () => api.get('/food-items/recently-consumed'),
+  getRecentlyConsumed: (cursor = null) => api.get('/food-items/recently-consumed', {
+    params: { cursor: cursor || undefined },
+  }),
   
   // Get total count
   getCount: () => api.get('/food-items/count'),
   
+  // Get items created, updated or deleted since a change token (omit it to get a starting token)
+  getChanges: (since = null, device = null) => api.get('/food-items/changes', {
+    params: { since: since || undefined, device: device || undefined },
+  }),
+  
+  // Get dashboard statistics
+  getStats: () => api.get('/food-items/stats'),
+  
   // Export food items to CSV
   exportToCSV: (startDate = null, endDate = null) => {
     const params = new URLSearchParams();
@@ -87,6 +111,15 @@ export const foodItemsAPI = {
       responseType: 'blob',
     });
   },
+  
+  // Import food items from a CSV file (same columns as the export)
+  importFromCSV: (file) => {
+    const formData = new FormData();
+    formData.append('file', file);
+    return api.post('/food-items/import', formData, {
+      headers: { 'Content-Type': 'multipart/form-data' },
+    });
+  },
 };
 
 export default api;
\ No newline at end of file